@@ -1,16 +1,21 @@
 package com.equiptrack.config;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import com.equiptrack.model.Category;
+import com.equiptrack.model.DeliveryZone;
 import com.equiptrack.model.Equipment;
 import com.equiptrack.model.Location;
 import com.equiptrack.model.User;
 import com.equiptrack.repository.CategoryRepository;
+import com.equiptrack.repository.DeliveryZoneRepository;
 import com.equiptrack.repository.EquipmentRepository;
 import com.equiptrack.repository.LocationRepository;
 import com.equiptrack.repository.UserRepository;
@@ -22,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
  * Data initializer to populate the database with sample data
  */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
@@ -30,6 +36,7 @@ public class DataInitializer implements CommandLineRunner {
     private final CategoryRepository categoryRepository;
     private final LocationRepository locationRepository;
     private final EquipmentRepository equipmentRepository;
+    private final DeliveryZoneRepository deliveryZoneRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -122,6 +129,8 @@ public class DataInitializer implements CommandLineRunner {
             warehouseA.setCity("New York");
             warehouseA.setState("NY");
             warehouseA.setZipCode("10001");
+            warehouseA.setLatitude(40.7506);
+            warehouseA.setLongitude(-73.9972);
             warehouseA.setPhoneNumber("+1 (555) 100-1000");
             warehouseA.setIsActive(true);
             warehouseA.setSupportsPickup(true);
@@ -136,6 +145,8 @@ public class DataInitializer implements CommandLineRunner {
             warehouseB.setCity("Los Angeles");
             warehouseB.setState("CA");
             warehouseB.setZipCode("90001");
+            warehouseB.setLatitude(33.9731);
+            warehouseB.setLongitude(-118.2479);
             warehouseB.setPhoneNumber("+1 (555) 200-2000");
             warehouseB.setIsActive(true);
             warehouseB.setSupportsPickup(true);
@@ -150,6 +161,8 @@ public class DataInitializer implements CommandLineRunner {
             serviceCenter.setCity("Chicago");
             serviceCenter.setState("IL");
             serviceCenter.setZipCode("60601");
+            serviceCenter.setLatitude(41.8858);
+            serviceCenter.setLongitude(-87.6181);
             serviceCenter.setPhoneNumber("+1 (555) 300-3000");
             serviceCenter.setIsActive(true);
             serviceCenter.setSupportsPickup(true);
@@ -159,6 +172,36 @@ public class DataInitializer implements CommandLineRunner {
             log.info("Locations created");
         }
 
+        // Create delivery zones around the warehouses
+        if (deliveryZoneRepository.count() == 0) {
+            DeliveryZone midtown = new DeliveryZone();
+            midtown.setCode("NYC-MID");
+            midtown.setName("Manhattan Midtown");
+            midtown.setZipCodes(List.of("10001", "10011", "10016", "10017", "10018", "10036"));
+            midtown.setLatitude(40.7505);
+            midtown.setLongitude(-73.9934);
+            deliveryZoneRepository.save(midtown);
+
+            DeliveryZone brooklyn = new DeliveryZone();
+            brooklyn.setCode("NYC-BK");
+            brooklyn.setName("Brooklyn");
+            brooklyn.setZipCodes(List.of("11201", "11205", "11211", "11215", "11217", "11238"));
+            brooklyn.setLatitude(40.6872);
+            brooklyn.setLongitude(-73.9418);
+            brooklyn.setSurcharge(new BigDecimal("200"));
+            deliveryZoneRepository.save(brooklyn);
+
+            DeliveryZone southLa = new DeliveryZone();
+            southLa.setCode("LA-SOUTH");
+            southLa.setName("South Los Angeles");
+            southLa.setZipCodes(List.of("90001", "90002", "90003", "90011", "90037", "90044"));
+            southLa.setLatitude(33.9617);
+            southLa.setLongitude(-118.2737);
+            deliveryZoneRepository.save(southLa);
+
+            log.info("Delivery zones created");
+        }
+
         // Create sample equipment
         if (equipmentRepository.count() == 0) {
             Category heavyMachinery = categoryRepository.findByCode("HM").orElseThrow();
@@ -0,0 +1,66 @@
+package com.equiptrack.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.equiptrack.service.EquipmentImportService;
+import com.equiptrack.service.EquipmentService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports equipment files named on the command line at startup, e.g.
+ * {@code --import-equipment=branch.csv [--import-format=ndjson] [--import-dry-run]}.
+ * The option may be repeated; each file gets its own report in the log. Runs after
+ * {@link DataInitializer}, so generated codes start above the sample data.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class EquipmentImportRunner implements ApplicationRunner {
+
+    private static final int MAX_LOGGED_ERRORS = 50;
+
+    private final EquipmentImportService equipmentImportService;
+    private final EquipmentService equipmentService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("import-equipment")) {
+            return;
+        }
+        List<String> formats = args.getOptionValues("import-format");
+        String format = formats != null && !formats.isEmpty() ? formats.get(0) : null;
+        boolean dryRun = args.containsOption("import-dry-run");
+        // Runners come before ApplicationReadyEvent, so start the code sequence here
+        equipmentService.initializeEquipmentCodeSequence();
+
+        for (String value : args.getOptionValues("import-equipment")) {
+            Path file = Path.of(value);
+            try (InputStream input = Files.newInputStream(file)) {
+                EquipmentImportService.ImportReport report = equipmentImportService.importEquipment(input,
+                        EquipmentImportService.Format.resolve(format, file.getFileName().toString()), dryRun);
+                log.info("Imported {}: {} row(s) read, {} imported, {} failed{}", file, report.getRowsRead(),
+                        report.getImported(), report.getFailed(), dryRun ? " (dry run)" : "");
+                report.getErrors().stream().limit(MAX_LOGGED_ERRORS).forEach(error ->
+                        log.warn("{} line {} ({}): {}", file, error.getLine(), error.getEquipmentCode(), error.getMessage()));
+                if (report.getFailed() > MAX_LOGGED_ERRORS) {
+                    log.warn("{}: {} more error(s) not shown", file, report.getFailed() - MAX_LOGGED_ERRORS);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Equipment import from {} failed", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.equiptrack.config;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.DeliveryZone;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Notification;
+import com.equiptrack.model.Payment;
+import com.equiptrack.model.RevenueRollup;
+import com.equiptrack.model.User;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the {@code @CompoundIndex} indexes declared on the documents below at startup.
+ * Global index auto-creation stays off: it would also build the field-level unique
+ * indexes (bookingNumber, transactionId, email, ...), which fail on existing databases
+ * holding duplicates from the old count()+1 number generators. Unique indexes that
+ * writes rely on, such as equipmentCode, are declared as {@code @CompoundIndex} instead;
+ * if one cannot be built the error is logged and startup continues. Creating an index
+ * that already exists is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            Booking.class, Equipment.class, Payment.class, User.class, Notification.class,
+            RevenueRollup.class, DeliveryZone.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void createIndexes() {
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            for (CompoundIndex declared : document.getAnnotationsByType(CompoundIndex.class)) {
+                Index index = new CompoundIndexDefinition(Document.parse(declared.def())).named(declared.name());
+                if (declared.unique()) {
+                    index.unique();
+                }
+                try {
+                    mongoTemplate.indexOps(document).ensureIndex(index);
+                } catch (RuntimeException e) {
+                    log.error("Could not create index {} on {}", declared.name(), document.getSimpleName(), e);
+                }
+            }
+        }
+        log.info("MongoDB indexes checked for {} collection(s)", INDEXED_DOCUMENTS.size());
+    }
+}
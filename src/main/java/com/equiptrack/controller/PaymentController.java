@@ -1,10 +1,13 @@
 package com.equiptrack.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +18,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.equiptrack.model.Booking;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.Payment;
+import com.equiptrack.model.RevenueRollup;
 import com.equiptrack.model.User;
 import com.equiptrack.service.BookingService;
 import com.equiptrack.service.PaymentService;
+import com.equiptrack.service.RevenueRollupService;
 import com.equiptrack.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -36,6 +42,7 @@ public class PaymentController {
     private final PaymentService paymentService;
     private final BookingService bookingService;
     private final UserService userService;
+    private final RevenueRollupService revenueRollupService;
 
     /**
      * Create a manual (offline/UPI) payment for a booking. Marks payment as COMPLETED.
@@ -76,13 +83,28 @@ public class PaymentController {
         paymentService.processPayment(payment.getId()); // simulate processing -> sets COMPLETED
 
         // Update booking payment status (booking is already CONFIRMED)
-        booking.setPaymentStatus(Booking.PaymentStatus.PAID);
+        bookingService.markBookingPaid(booking.getId());
         // No need to call confirmBooking again - just update payment status
 
         log.info("Manual payment completed for booking {}", booking.getBookingNumber());
         return ResponseEntity.ok(payment);
     }
 
+    /**
+     * All payments newest first; pass the returned nextCursor to fetch the following page
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<Payment>> listPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(paymentService.getPayments(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * List payments for a booking.
      */
@@ -91,4 +113,44 @@ public class PaymentController {
         List<Payment> payments = paymentService.getPaymentsByBooking(bookingId);
         return ResponseEntity.ok(payments);
     }
+
+    /**
+     * Net revenue over an inclusive date range, overall or for one location or category
+     */
+    @GetMapping("/revenue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RevenueRollupService.RevenueSummary> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ALL") RevenueRollup.Dimension dimension,
+            @RequestParam(required = false) String dimensionId) {
+        if (to.isBefore(from) || (dimension != RevenueRollup.Dimension.ALL && dimensionId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getRevenue(from, to, dimension, dimensionId));
+    }
+
+    /**
+     * Revenue buckets of one granularity over a date range, for charts
+     */
+    @GetMapping("/revenue/series")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RevenueRollup>> getRevenueSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") RevenueRollup.Granularity granularity,
+            @RequestParam(defaultValue = "ALL") RevenueRollup.Dimension dimension,
+            @RequestParam(required = false) String dimensionId) {
+        if (to.isBefore(from) || (dimension != RevenueRollup.Dimension.ALL && dimensionId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueRollupService.getSeries(from, to, granularity, dimension, dimensionId));
+    }
+
+    @PostMapping("/revenue/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> rebuildRevenueRollups() {
+        int buckets = revenueRollupService.rebuild();
+        return ResponseEntity.ok("Rebuilt " + buckets + " revenue bucket(s)");
+    }
 }
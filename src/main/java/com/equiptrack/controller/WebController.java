@@ -13,13 +13,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import com.equiptrack.model.Booking;
 import com.equiptrack.model.Category;
+import com.equiptrack.model.DashboardStats;
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentFacets;
+import com.equiptrack.model.EquipmentFilter;
+import com.equiptrack.model.EquipmentSummary;
 import com.equiptrack.model.Location;
 import com.equiptrack.model.User;
 import com.equiptrack.service.BookingService;
-import com.equiptrack.service.CategoryService;
+import com.equiptrack.service.DashboardStatsService;
+import com.equiptrack.service.EntityResolver;
 import com.equiptrack.service.EquipmentService;
-import com.equiptrack.service.LocationService;
+import com.equiptrack.service.ReferenceDataService;
 import com.equiptrack.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -31,15 +36,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class WebController {
 
+    private static final int BROWSE_PAGE_SIZE = 24;
+
+    /**
+     * Statuses customers can filter the catalog by; the catalog shows AVAILABLE by default
+     * and never lists equipment in maintenance, out of service or retired
+     */
+    private static final List<Equipment.EquipmentStatus> BROWSE_STATUSES = List.of(
+            Equipment.EquipmentStatus.AVAILABLE, Equipment.EquipmentStatus.RENTED, Equipment.EquipmentStatus.RESERVED);
+
     private final EquipmentService equipmentService;
-    private final CategoryService categoryService;
-    private final LocationService locationService;
+    private final ReferenceDataService referenceDataService;
     private final BookingService bookingService;
     private final UserService userService;
+    private final DashboardStatsService dashboardStatsService;
+    private final EntityResolver entityResolver;
 
     @GetMapping("/")
     public String home(Model model, @AuthenticationPrincipal UserDetails userDetails) {
-        List<Equipment> featuredEquipment = equipmentService.getFeaturedEquipment();
+        List<EquipmentSummary> featuredEquipment = equipmentService.getFeaturedEquipment();
         model.addAttribute("featuredEquipment", featuredEquipment);
         model.addAttribute("currentUser", userDetails);
         return "index";
@@ -51,53 +66,65 @@ public class WebController {
             @RequestParam(required = false) String categoryId,
             @RequestParam(required = false) String locationId,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String manufacturer,
+            @RequestParam(defaultValue = "0") int page,
             @AuthenticationPrincipal UserDetails userDetails,
             Model model) {
         
-        List<Equipment> equipmentList;
+        List<EquipmentSummary> equipmentList;
+        Equipment.EquipmentStatus browseStatus = browseStatus(status);
+        org.springframework.data.domain.PageRequest pageRequest =
+                org.springframework.data.domain.PageRequest.of(Math.max(page, 0), BROWSE_PAGE_SIZE);
         
         if (search != null && !search.isEmpty()) {
-            equipmentList = equipmentService.searchEquipment(search);
-        } else if (categoryId != null) {
-            equipmentList = equipmentService.getAvailableEquipmentByCategory(categoryId);
-        } else if (locationId != null) {
-            equipmentList = equipmentService.getEquipmentByLocation(locationId);
+            org.springframework.data.domain.Page<EquipmentSummary> results = equipmentService.searchEquipment(search, pageRequest);
+            equipmentList = results.getContent();
+            model.addAttribute("currentPage", results.getNumber());
+            model.addAttribute("totalPages", results.getTotalPages());
         } else {
-            equipmentList = equipmentService.getAvailableEquipment();
+            // Filters combine; each facet's counts ignore its own selection
+            EquipmentFilter filter = new EquipmentFilter();
+            filter.setCategoryId(emptyToNull(categoryId));
+            filter.setLocationId(emptyToNull(locationId));
+            filter.setStatus(browseStatus);
+            filter.setMinPrice(minPrice);
+            filter.setMaxPrice(maxPrice);
+            filter.setManufacturer(emptyToNull(manufacturer));
+            EquipmentFacets facets = equipmentService.getFacetedEquipment(filter, pageRequest);
+            equipmentList = facets.getContent();
+            model.addAttribute("facets", facets);
+            model.addAttribute("currentPage", facets.getPage());
+            model.addAttribute("totalPages", facets.getTotalPages());
         }
 
-        List<Category> categories = categoryService.getAllActiveCategories();
-        List<Location> locations = locationService.getAllActiveLocations();
-
-        // Build maps for category and location lookup
-        java.util.Map<String, Category> categoryMap = new java.util.HashMap<>();
-        for (Category cat : categories) {
-            categoryMap.put(cat.getId(), cat);
-        }
-        java.util.Map<String, Location> locationMap = new java.util.HashMap<>();
-        for (Location loc : locations) {
-            locationMap.put(loc.getId(), loc);
-        }
+        ReferenceDataService.Snapshot referenceData = referenceDataService.getSnapshot();
 
         // Build availability map (next available date if currently rented)
         java.util.Map<String, String> availabilityMap = new java.util.HashMap<>();
         java.time.LocalDate today = java.time.LocalDate.now();
-        for (Equipment eq : equipmentList) {
+        for (EquipmentSummary eq : equipmentList) {
             if (eq.getStatus() == Equipment.EquipmentStatus.RENTED || eq.getStatus() == Equipment.EquipmentStatus.RESERVED) {
-                java.time.LocalDate next = bookingService.getNextAvailableDateForEquipment(eq.getId());
-                availabilityMap.put(eq.getId(), next.isAfter(today) ? next.toString() : "Soon");
+                java.time.LocalDate next = eq.getNextAvailableDate();
+                availabilityMap.put(eq.getId(), next != null && next.isAfter(today) ? next.toString() : "Soon");
             } else {
                 availabilityMap.put(eq.getId(), "Now");
             }
         }
         model.addAttribute("equipmentList", equipmentList);
         model.addAttribute("availabilityMap", availabilityMap);
-        model.addAttribute("categoryMap", categoryMap);
-        model.addAttribute("locationMap", locationMap);
-        model.addAttribute("categories", categories);
-        model.addAttribute("locations", locations);
+        model.addAttribute("categoryMap", referenceData.getActiveCategoriesById());
+        model.addAttribute("locationMap", referenceData.getActiveLocationsById());
+        model.addAttribute("categories", referenceData.getActiveCategories());
+        model.addAttribute("locations", referenceData.getActiveLocations());
         model.addAttribute("selectedCategory", categoryId);
         model.addAttribute("selectedLocation", locationId);
+        model.addAttribute("statusOptions", BROWSE_STATUSES);
+        model.addAttribute("selectedStatus", browseStatus.name());
+        model.addAttribute("selectedManufacturer", manufacturer);
+        model.addAttribute("minPrice", minPrice);
+        model.addAttribute("maxPrice", maxPrice);
         model.addAttribute("searchQuery", search);
         model.addAttribute("currentUser", userDetails);
 
@@ -109,15 +136,16 @@ public class WebController {
         Equipment equipment = equipmentService.getEquipmentById(id)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
         
-        // Fetch category and location by ID
-        Category category = categoryService.getCategoryById(equipment.getCategoryId())
-                .orElse(null);
-        Location location = locationService.getLocationById(equipment.getLocationId())
-                .orElse(null);
+        ReferenceDataService.Snapshot referenceData = referenceDataService.getSnapshot();
+        Category category = equipment.getCategoryId() != null
+                ? referenceData.getCategoriesById().get(equipment.getCategoryId()) : null;
+        Location location = equipment.getLocationId() != null
+                ? referenceData.getLocationsById().get(equipment.getLocationId()) : null;
         
         String availabilityMessage;
         if (equipment.getStatus() == Equipment.EquipmentStatus.RENTED || equipment.getStatus() == Equipment.EquipmentStatus.RESERVED) {
-            java.time.LocalDate next = bookingService.getNextAvailableDateForEquipment(equipment.getId());
+            java.time.LocalDate next = equipment.getNextAvailableDate() != null
+                    ? equipment.getNextAvailableDate() : java.time.LocalDate.now();
             availabilityMessage = "Available from: " + next.toString();
         } else {
             availabilityMessage = "Available now";
@@ -159,62 +187,37 @@ public class WebController {
     @GetMapping("/admin/dashboard")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
     public String adminDashboard(Model model) {
-        // Get all bookings
-        List<Booking> allBookings = bookingService.getAllBookings();
-        
-        // Calculate statistics
-        long totalBookings = allBookings.size();
-        BigDecimal totalRevenue = allBookings.stream()
-                .filter(b -> b.getPaymentStatus() == Booking.PaymentStatus.PAID)
-                .map(Booking::getFinalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long activeRentals = allBookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.IN_PROGRESS)
-                .count();
-        long pendingBookings = allBookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.PENDING)
-                .count();
-        long completedBookings = allBookings.stream()
-            .filter(b -> b.getStatus() == Booking.BookingStatus.COMPLETED)
-            .count();
+        // Statistics come from the incrementally maintained counters
+        DashboardStats stats = dashboardStatsService.getStats();
+        long totalBookings = stats.getTotalBookings();
+        BigDecimal totalRevenue = stats.getPaidBookingRevenue();
+        long activeRentals = stats.getBookingCount(Booking.BookingStatus.IN_PROGRESS);
+        long pendingBookings = stats.getBookingCount(Booking.BookingStatus.PENDING);
+        long completedBookings = stats.getBookingCount(Booking.BookingStatus.COMPLETED);
         
         // Get recent bookings (last 20)
-        List<Booking> recentBookings = allBookings.stream()
-                .sorted((b1, b2) -> b2.getCreatedAt().compareTo(b1.getCreatedAt()))
-                .limit(20)
-                .toList();
+        List<Booking> recentBookings = bookingService.getRecentBookings();
         
         // Get all equipment + availability map
         List<Equipment> equipmentList = equipmentService.getAllEquipment();
         java.util.Map<String, String> availabilityMap = new java.util.HashMap<>();
+        java.util.Map<String, Long> bookingCounts = bookingService.getBookingCountsByEquipment();
         java.util.Map<String, Long> equipmentBookingsCount = new java.util.HashMap<>();
         java.time.LocalDate today = java.time.LocalDate.now();
         for (Equipment eq : equipmentList) {
             if (eq.getStatus() == Equipment.EquipmentStatus.RENTED || eq.getStatus() == Equipment.EquipmentStatus.RESERVED) {
-                java.time.LocalDate next = bookingService.getNextAvailableDateForEquipment(eq.getId());
-                availabilityMap.put(eq.getId(), next.isAfter(today) ? next.toString() : "Soon");
+                java.time.LocalDate next = eq.getNextAvailableDate();
+                availabilityMap.put(eq.getId(), next != null && next.isAfter(today) ? next.toString() : "Soon");
             } else {
                 availabilityMap.put(eq.getId(), "Now");
             }
-            // Count bookings for this equipment
-            long eqBookings = allBookings.stream().filter(b -> b.getEquipmentId().equals(eq.getId())).count();
-            equipmentBookingsCount.put(eq.getId(), eqBookings);
+            equipmentBookingsCount.put(eq.getId(), bookingCounts.getOrDefault(eq.getId(), 0L));
         }
         
         // Get all users
         List<User> users = userService.getAllUsers();
         Long customerCount = userService.getCustomerCount();
-        java.util.Map<String, java.math.BigDecimal> userSpentMap = new java.util.HashMap<>();
-        for (User u : users) {
-            java.math.BigDecimal spent = allBookings.stream()
-                    .filter(b -> b.getCustomerId().equals(u.getId()))
-                    .filter(b -> b.getStatus() == Booking.BookingStatus.CONFIRMED || 
-                                 b.getPaymentStatus() == Booking.PaymentStatus.PAID || 
-                                 b.getPaymentStatus() == Booking.PaymentStatus.PARTIALLY_PAID)
-                    .map(b -> b.getFinalAmount() != null ? b.getFinalAmount() : java.math.BigDecimal.ZERO)
-                    .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-            userSpentMap.put(u.getId(), spent);
-        }
+        java.util.Map<String, java.math.BigDecimal> userSpentMap = bookingService.getSpendByCustomer();
 
         // Build lookup maps for templates (equipment and customers)
         java.util.Map<String, Equipment> equipmentMap = new java.util.HashMap<>();
@@ -228,10 +231,12 @@ public class WebController {
         }
         
         // Build cancelledBy map for showing who cancelled bookings
+        java.util.Map<String, User> cancellers = entityResolver.users(
+                recentBookings.stream().map(Booking::getCancelledById).toList());
         java.util.Map<String, String> cancelledByMap = new java.util.HashMap<>();
-        for (Booking b : allBookings) {
+        for (Booking b : recentBookings) {
             if (b.getCancelledById() != null) {
-                User cancelledBy = userService.getUserById(b.getCancelledById()).orElse(null);
+                User cancelledBy = cancellers.get(b.getCancelledById());
                 if (cancelledBy != null) {
                     cancelledByMap.put(b.getId(), cancelledBy.getFullName() + " (" + cancelledBy.getRole() + ")");
                 }
@@ -261,24 +266,13 @@ public class WebController {
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
     public String showAdminEquipmentManagement(Model model) {
         List<Equipment> equipmentList = equipmentService.getAllEquipment();
-        List<Category> categories = categoryService.getAllActiveCategories();
-        List<Location> locations = locationService.getAllActiveLocations();
-        
-        // Build lookup maps
-        java.util.Map<String, Category> categoryMap = new java.util.HashMap<>();
-        for (Category cat : categories) {
-            categoryMap.put(cat.getId(), cat);
-        }
-        java.util.Map<String, Location> locationMap = new java.util.HashMap<>();
-        for (Location loc : locations) {
-            locationMap.put(loc.getId(), loc);
-        }
+        ReferenceDataService.Snapshot referenceData = referenceDataService.getSnapshot();
         
         model.addAttribute("equipmentList", equipmentList);
-        model.addAttribute("categories", categories);
-        model.addAttribute("locations", locations);
-        model.addAttribute("categoryMap", categoryMap);
-        model.addAttribute("locationMap", locationMap);
+        model.addAttribute("categories", referenceData.getActiveCategories());
+        model.addAttribute("locations", referenceData.getActiveLocations());
+        model.addAttribute("categoryMap", referenceData.getActiveCategoriesById());
+        model.addAttribute("locationMap", referenceData.getActiveLocationsById());
         
         return "admin-equipment";
     }
@@ -295,15 +289,17 @@ public class WebController {
         Booking booking = bookingService.getBookingById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
         
-        Equipment equipment = equipmentService.getEquipmentById(booking.getEquipmentId())
+        Equipment equipment = entityResolver.equipment(booking.getEquipmentId())
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        User customer = userService.getUserById(booking.getCustomerId())
+        // Customer and canceller come back from a single user query
+        entityResolver.users(java.util.Arrays.asList(booking.getCustomerId(), booking.getCancelledById()));
+        User customer = entityResolver.user(booking.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
         
-        Category category = categoryService.getCategoryById(equipment.getCategoryId()).orElse(null);
+        Category category = entityResolver.category(equipment.getCategoryId()).orElse(null);
         
         // Get location/warehouse information
-        Location location = locationService.getLocationById(equipment.getLocationId()).orElse(null);
+        Location location = entityResolver.location(equipment.getLocationId()).orElse(null);
         
         // Calculate duration in days
         long duration = java.time.temporal.ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate());
@@ -311,7 +307,7 @@ public class WebController {
         // Get cancelledBy user if booking was cancelled
         String cancelledByName = null;
         if (booking.getCancelledById() != null) {
-            User cancelledBy = userService.getUserById(booking.getCancelledById()).orElse(null);
+            User cancelledBy = entityResolver.user(booking.getCancelledById()).orElse(null);
             if (cancelledBy != null) {
                 cancelledByName = cancelledBy.getFullName() + " (" + cancelledBy.getRole() + ")";
             }
@@ -328,4 +324,21 @@ public class WebController {
         return "booking-view";
     }
 
+    /**
+     * The requested catalog status if customers may filter by it, otherwise AVAILABLE
+     */
+    private static Equipment.EquipmentStatus browseStatus(String status) {
+        if (status != null) {
+            for (Equipment.EquipmentStatus candidate : BROWSE_STATUSES) {
+                if (candidate.name().equalsIgnoreCase(status.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        return Equipment.EquipmentStatus.AVAILABLE;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 }
@@ -1,8 +1,12 @@
 package com.equiptrack.controller.api;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,11 +21,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.equiptrack.model.Booking;
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.Location;
 import com.equiptrack.model.User;
 import com.equiptrack.service.BookingService;
-import com.equiptrack.service.EquipmentService;
-import com.equiptrack.service.LocationService;
+import com.equiptrack.service.EntityResolver;
 import com.equiptrack.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,33 +39,62 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin(origins = "*")
 public class BookingApiController {
 
+    private static final int MAX_MATRIX_DAYS = 366;
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final BookingService bookingService;
-    private final EquipmentService equipmentService;
     private final UserService userService;
-    private final LocationService locationService;
+    private final EntityResolver entityResolver;
 
+    /**
+     * Bookings newest first; pass the returned nextCursor to fetch the following page
+     */
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<KeysetPage<Booking>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookings(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Fleet "who is out when" grid for dispatchers: one row per equipment with a bitset
+     * of booked days over the window starting at {@code from} (defaults to today).
+     */
+    @GetMapping("/availability-matrix")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingService.AvailabilityMatrix> getAvailabilityMatrix(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String locationId) {
+        if (days < 1 || days > MAX_MATRIX_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate start = from != null ? from : LocalDate.now();
+        return ResponseEntity.ok(bookingService.getAvailabilityMatrix(start, days, categoryId, locationId));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EnrichedBookingResponse> getBookingById(@PathVariable String id) {
         return bookingService.getBookingById(id)
-                .map(booking -> {
-                    Equipment equipment = equipmentService.getEquipmentById(booking.getEquipmentId())
-                            .orElse(null);
-                    Location location = equipment != null && equipment.getLocationId() != null 
-                        ? locationService.getLocationById(equipment.getLocationId()).orElse(null) 
-                        : null;
-                    return ResponseEntity.ok(new EnrichedBookingResponse(booking, equipment, location));
-                })
+                .map(booking -> ResponseEntity.ok(enrich(List.of(booking)).get(0)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Booking>> getBookingsByCustomer(@PathVariable String customerId) {
-        return ResponseEntity.ok(bookingService.getBookingsByCustomer(customerId));
+    public ResponseEntity<KeysetPage<Booking>> getBookingsByCustomer(
+            @PathVariable String customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsByCustomer(customerId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/my-bookings")
@@ -69,20 +102,24 @@ public class BookingApiController {
         User user = userService.getUserByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         List<Booking> bookings = bookingService.getRecentBookingsByCustomer(user.getId());
-        
-        // Enrich bookings with equipment and location data
-        List<EnrichedBookingResponse> enrichedBookings = bookings.stream()
+        return ResponseEntity.ok(enrich(bookings));
+    }
+
+    /**
+     * Attaches equipment and location to each booking with one batched lookup per type
+     */
+    private List<EnrichedBookingResponse> enrich(List<Booking> bookings) {
+        Map<String, Equipment> equipment = entityResolver.equipment(
+                bookings.stream().map(Booking::getEquipmentId).toList());
+        Map<String, Location> locations = entityResolver.locations(
+                equipment.values().stream().map(Equipment::getLocationId).toList());
+        return bookings.stream()
                 .map(booking -> {
-                    Equipment equipment = equipmentService.getEquipmentById(booking.getEquipmentId())
-                            .orElse(null);
-                    Location location = equipment != null && equipment.getLocationId() != null
-                        ? locationService.getLocationById(equipment.getLocationId()).orElse(null)
-                        : null;
-                    return new EnrichedBookingResponse(booking, equipment, location);
+                    Equipment eq = equipment.get(booking.getEquipmentId());
+                    Location location = eq != null && eq.getLocationId() != null ? locations.get(eq.getLocationId()) : null;
+                    return new EnrichedBookingResponse(booking, eq, location);
                 })
-                .collect(java.util.stream.Collectors.toList());
-        
-        return ResponseEntity.ok(enrichedBookings);
+                .toList();
     }
 
     @PostMapping
@@ -108,6 +145,31 @@ public class BookingApiController {
         }
     }
     
+    /**
+     * Books several pieces of equipment for the same dates in one request (e.g. excavator,
+     * trailer and compactor). Either every item is booked or none is.
+     */
+    @PostMapping("/kit")
+    public ResponseEntity<?> createKitBooking(
+            @RequestBody KitBookingRequest kitRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = userService.getUserByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            List<Booking> createdBookings = bookingService.createKitBooking(
+                    kitRequest.getEquipmentIds(),
+                    LocalDate.parse(kitRequest.getStartDate()),
+                    LocalDate.parse(kitRequest.getEndDate()),
+                    kitRequest.getCustomerNotes(),
+                    user);
+
+            return ResponseEntity.ok(createdBookings.stream().map(BookingResponse::new).toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     /**
      * DTO for booking creation requests
      */
@@ -117,6 +179,8 @@ public class BookingApiController {
         private String startDate;
         private String endDate;
         private String customerNotes;
+        private Boolean requiresDelivery = false;
+        private String deliveryAddress;
         
         public Booking toBooking() {
             Booking booking = new Booking();
@@ -131,10 +195,25 @@ public class BookingApiController {
             // Set notes
             booking.setCustomerNotes(customerNotes);
             
+            // Delivery fee is priced server-side from the address's ZIP code
+            booking.setRequiresDelivery(requiresDelivery);
+            booking.setDeliveryAddress(deliveryAddress);
+            
             return booking;
         }
     }
     
+    /**
+     * DTO for kit (multi-equipment) booking requests
+     */
+    @lombok.Data
+    public static class KitBookingRequest {
+        private List<String> equipmentIds;
+        private String startDate;
+        private String endDate;
+        private String customerNotes;
+    }
+    
     /**
      * DTO for booking response - prevents lazy loading issues
      */
@@ -143,6 +222,8 @@ public class BookingApiController {
     public static class BookingResponse {
         private String id;
         private String bookingNumber;
+        private String kitId;
+        private String equipmentId;
         private String status;
         private java.math.BigDecimal totalAmount;
         private java.math.BigDecimal finalAmount;
@@ -153,6 +234,8 @@ public class BookingApiController {
         public BookingResponse(Booking booking) {
             this.id = booking.getId();
             this.bookingNumber = booking.getBookingNumber();
+            this.kitId = booking.getKitId();
+            this.equipmentId = booking.getEquipmentId();
             this.status = booking.getStatus() != null ? booking.getStatus().toString() : null;
             this.totalAmount = booking.getTotalAmount();
             this.finalAmount = booking.getFinalAmount();
@@ -288,4 +371,58 @@ public class BookingApiController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return ResponseEntity.ok(bookingService.cancelBooking(id, reason, user));
     }
+
+    @PutMapping("/bulk/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingService.BulkTransitionResult> bulkApproveBookings(
+            @RequestBody BulkTransitionRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = userService.getUserByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(bookingService.bulkApproveBookings(request.getBookingIds(), user));
+    }
+
+    @PutMapping("/bulk/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingService.BulkTransitionResult> bulkStartBookings(@RequestBody BulkTransitionRequest request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bookingService.bulkStartBookings(request.getBookingIds()));
+    }
+
+    @PutMapping("/bulk/complete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingService.BulkTransitionResult> bulkCompleteBookings(@RequestBody BulkTransitionRequest request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bookingService.bulkCompleteBookings(request.getBookingIds()));
+    }
+
+    @PutMapping("/bulk/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingService.BulkTransitionResult> bulkCancelBookings(
+            @RequestBody BulkTransitionRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        if (!request.isValid() || request.getReason() == null || request.getReason().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = userService.getUserByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(bookingService.bulkCancelBookings(request.getBookingIds(), request.getReason(), user));
+    }
+
+    @lombok.Data
+    public static class BulkTransitionRequest {
+        private List<String> bookingIds;
+        private String reason;
+
+        boolean isValid() {
+            return bookingIds != null && !bookingIds.isEmpty() && bookingIds.size() <= MAX_BULK_SIZE;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.equiptrack.controller.api;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.equiptrack.model.DeliveryZone;
+import com.equiptrack.service.DeliveryFeeService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST API controller for delivery fee quotes and delivery zone management
+ */
+@RestController
+@RequestMapping("/api/delivery")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DeliveryApiController {
+
+    private final DeliveryFeeService deliveryFeeService;
+
+    /**
+     * Delivery fee from one location to an address (geocoded by ZIP code) or to coordinates
+     */
+    @GetMapping("/quote")
+    public ResponseEntity<DeliveryFeeService.DeliveryQuote> getQuote(
+            @RequestParam String locationId,
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude) {
+        if (address == null && (latitude == null || longitude == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(deliveryFeeService.quote(locationId, address, latitude, longitude));
+    }
+
+    /**
+     * Delivery fee from every location that delivers, cheapest first
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<DeliveryFeeService.DeliveryQuote>> getQuotes(
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude) {
+        if (address == null && (latitude == null || longitude == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(deliveryFeeService.quoteAllLocations(address, latitude, longitude));
+    }
+
+    @GetMapping("/zones")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DeliveryZone>> getZones() {
+        return ResponseEntity.ok(deliveryFeeService.getAllZones());
+    }
+
+    @PostMapping("/zones")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createZone(@RequestBody DeliveryZone zone) {
+        try {
+            zone.setId(null);
+            return ResponseEntity.ok(deliveryFeeService.saveZone(zone));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/zones/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateZone(@PathVariable String id, @RequestBody DeliveryZone zone) {
+        try {
+            zone.setId(id);
+            return ResponseEntity.ok(deliveryFeeService.saveZone(zone));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/zones/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteZone(@PathVariable String id) {
+        deliveryFeeService.deleteZone(id);
+        return ResponseEntity.ok().build();
+    }
+}
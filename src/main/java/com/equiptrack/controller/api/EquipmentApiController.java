@@ -1,12 +1,21 @@
 package com.equiptrack.controller.api;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -14,9 +23,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentFacets;
+import com.equiptrack.model.EquipmentFilter;
+import com.equiptrack.model.EquipmentSummary;
+import com.equiptrack.model.KeysetPage;
+import com.equiptrack.service.EquipmentCache;
+import com.equiptrack.service.EquipmentImportService;
 import com.equiptrack.service.EquipmentService;
+import com.equiptrack.service.PricingService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,47 +46,151 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin(origins = "*")
 public class EquipmentApiController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUOTES = 200;
+    private static final double MAX_RADIUS_KM = 500;
+
     private final EquipmentService equipmentService;
+    private final PricingService pricingService;
+    private final EquipmentCache equipmentCache;
+    private final EquipmentImportService equipmentImportService;
 
+    /**
+     * Equipment newest first; pass the returned nextCursor to fetch the following page
+     */
     @GetMapping
-    public ResponseEntity<List<Equipment>> getAllEquipment() {
-        return ResponseEntity.ok(equipmentService.getAllEquipment());
+    public ResponseEntity<KeysetPage<EquipmentSummary>> getAllEquipment(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(equipmentService.getEquipment(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<Equipment>> getAvailableEquipment() {
+    public ResponseEntity<List<EquipmentSummary>> getAvailableEquipment() {
         return ResponseEntity.ok(equipmentService.getAvailableEquipment());
     }
 
+    /**
+     * Equipment free for the whole window, optionally in a category and/or location,
+     * paged and sorted by daily rate
+     */
+    @GetMapping("/available-between")
+    public ResponseEntity<PagedModel<EquipmentSummary>> getAvailableBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String locationId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (endDate.isBefore(startDate) || page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PagedModel<>(equipmentService.searchAvailableForWindow(
+                categoryId, locationId, startDate, endDate, PageRequest.of(page, size))));
+    }
+
+    /**
+     * Available equipment within radiusKm of a point (for example a job site), nearest first
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<EquipmentService.NearbyEquipment>> getNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "50") double radiusKm,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180 || !(radiusKm > 0) || radiusKm > MAX_RADIUS_KM
+                || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(equipmentService.findAvailableNear(latitude, longitude, radiusKm, categoryId, limit));
+    }
+
+    /**
+     * Combined category, location, status, price, manufacturer and condition filtering;
+     * returns the page plus the count behind every facet value
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<EquipmentFacets> getFaceted(
+            @ModelAttribute EquipmentFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(equipmentService.getFacetedEquipment(filter, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Prices many (equipment, dates, delivery) tuples in one call from the cached rate table
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<List<PricingService.Quote>> getQuotes(@RequestBody List<PricingService.QuoteRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_QUOTES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pricingService.quote(requests));
+    }
+
     @GetMapping("/featured")
-    public ResponseEntity<List<Equipment>> getFeaturedEquipment() {
+    public ResponseEntity<List<EquipmentSummary>> getFeaturedEquipment() {
         return ResponseEntity.ok(equipmentService.getFeaturedEquipment());
     }
 
+    /**
+     * @param consistent skip the equipment cache and read the latest stored document
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Equipment> getEquipmentById(@PathVariable String id) {
-        return equipmentService.getEquipmentById(id)
+    public ResponseEntity<Equipment> getEquipmentById(@PathVariable String id,
+                                                      @RequestParam(defaultValue = "false") boolean consistent) {
+        return equipmentService.getEquipmentById(id, consistent)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EquipmentCache.CacheStats> getCacheStats() {
+        return ResponseEntity.ok(equipmentCache.getStats());
+    }
+
+    @DeleteMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> clearCache() {
+        equipmentCache.clear();
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Ranked full-text search over name, manufacturer, model, description and specifications
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Equipment>> searchEquipment(@RequestParam String keyword) {
-        return ResponseEntity.ok(equipmentService.searchEquipment(keyword));
+    public ResponseEntity<PagedModel<EquipmentSummary>> searchEquipment(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PagedModel<>(equipmentService.searchEquipment(keyword, PageRequest.of(page, size))));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Equipment>> getByCategory(@PathVariable String categoryId) {
+    public ResponseEntity<List<EquipmentSummary>> getByCategory(@PathVariable String categoryId) {
         return ResponseEntity.ok(equipmentService.getAvailableEquipmentByCategory(categoryId));
     }
 
     @GetMapping("/location/{locationId}")
-    public ResponseEntity<List<Equipment>> getByLocation(@PathVariable String locationId) {
+    public ResponseEntity<List<EquipmentSummary>> getByLocation(@PathVariable String locationId) {
         return ResponseEntity.ok(equipmentService.getEquipmentByLocation(locationId));
     }
 
     @GetMapping("/price-range")
-    public ResponseEntity<List<Equipment>> getByPriceRange(
+    public ResponseEntity<List<EquipmentSummary>> getByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
         return ResponseEntity.ok(equipmentService.getEquipmentByPriceRange(minPrice, maxPrice));
@@ -80,6 +201,29 @@ public class EquipmentApiController {
         return ResponseEntity.ok(equipmentService.createEquipment(equipment));
     }
 
+    /**
+     * Creates equipment in bulk from an uploaded CSV or NDJSON file; the format comes from
+     * the format parameter or the file extension. Returns a per-row error report.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importEquipment(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        EquipmentImportService.Format importFormat;
+        try {
+            importFormat = EquipmentImportService.Format.resolve(format, file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(equipmentImportService.importEquipment(input, importFormat, dryRun));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Could not read upload: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Equipment> updateEquipment(
             @PathVariable String id,
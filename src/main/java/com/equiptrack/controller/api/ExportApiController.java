@@ -0,0 +1,136 @@
+package com.equiptrack.controller.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Payment;
+import com.equiptrack.service.ExportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST API controller for bulk exports to reporting tools. Rows are streamed from the
+ * database into the response as NDJSON (default) or CSV, optionally gzip-compressed;
+ * from/to are inclusive ISO dates and status may be repeated.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportApiController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    /**
+     * Bookings by start date
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Booking.BookingStatus> status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = parseFormat(format);
+        if (exportFormat == null || (from != null && to != null && to.isBefore(from))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("bookings", exportFormat, gzip,
+                out -> exportService.exportBookings(out, exportFormat, from, to, status));
+    }
+
+    /**
+     * Payments by creation date
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Payment.PaymentStatus> status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = parseFormat(format);
+        if (exportFormat == null || (from != null && to != null && to.isBefore(from))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("payments", exportFormat, gzip,
+                out -> exportService.exportPayments(out, exportFormat, from, to, status));
+    }
+
+    /**
+     * Equipment by creation date; the CSV can be fed back to the equipment import
+     */
+    @GetMapping("/equipment")
+    public ResponseEntity<StreamingResponseBody> exportEquipment(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Equipment.EquipmentStatus> status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = parseFormat(format);
+        if (exportFormat == null || (from != null && to != null && to.isBefore(from))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("equipment", exportFormat, gzip,
+                out -> exportService.exportEquipment(out, exportFormat, from, to, status));
+    }
+
+    /**
+     * The export format, or null when it is not csv or ndjson
+     */
+    private static ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format,
+                                                                boolean gzip, Export export) {
+        String fileName = name + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024, true);
+                export.writeTo(compressed);
+                compressed.finish();
+            } else {
+                export.writeTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : format == ExportService.Format.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
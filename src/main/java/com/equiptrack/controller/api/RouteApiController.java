@@ -0,0 +1,51 @@
+package com.equiptrack.controller.api;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.equiptrack.model.RoutePlan;
+import com.equiptrack.service.RoutePlanningService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST API controller for dispatchers: daily delivery and pickup routes per location
+ */
+@RestController
+@RequestMapping("/api/admin/routes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class RouteApiController {
+
+    private final RoutePlanningService routePlanningService;
+
+    /**
+     * The day's routes (default today), planning them if not planned yet
+     */
+    @GetMapping
+    public ResponseEntity<RoutePlan> getRoutes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(routePlanningService.getPlan(day));
+    }
+
+    /**
+     * Replans the day from the current bookings, e.g. after late bookings or cancellations
+     */
+    @PostMapping("/plan")
+    public ResponseEntity<RoutePlan> replan(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(routePlanningService.plan(day));
+    }
+}
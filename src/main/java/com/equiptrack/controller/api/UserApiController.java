@@ -1,5 +1,6 @@
 package com.equiptrack.controller.api;
 
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.User;
 import com.equiptrack.service.UserService;
 import lombok.Data;
@@ -21,9 +22,18 @@ public class UserApiController {
 
     private final UserService userService;
 
+    /**
+     * Users newest first; pass the returned nextCursor to fetch the following page
+     */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<KeysetPage<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(userService.getUsers(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -21,6 +22,10 @@ import lombok.NoArgsConstructor;
  * Booking document representing equipment rental bookings
  */
 @Document(collection = "bookings")
+@CompoundIndex(name = "status_startDate", def = "{ 'status': 1, 'startDate': 1 }")
+@CompoundIndex(name = "status_endDate", def = "{ 'status': 1, 'endDate': 1 }")
+@CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "customerId_createdAt_id", def = "{ 'customerId': 1, 'createdAt': -1, '_id': -1 }")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +43,9 @@ public class Booking {
 
     private String equipmentId;
 
+    // Shared by bookings created together as one multi-equipment kit
+    private String kitId;
+
     private LocalDate startDate;
 
     private LocalDate endDate;
@@ -72,6 +80,12 @@ public class Booking {
 
     private BigDecimal deliveryFee = BigDecimal.ZERO;
 
+    private Double deliveryLatitude;
+
+    private Double deliveryLongitude;
+
+    private Double deliveryDistanceKm;
+
     private LocalDateTime cancelledAt;
 
     private String cancellationReason;
@@ -0,0 +1,23 @@
+package com.equiptrack.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counter document holding the high-water mark of a named sequence
+ */
+@Document(collection = "counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Counter {
+
+    @Id
+    private String id;
+
+    private Long seq = 0L;
+}
@@ -0,0 +1,58 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dashboard counters kept up to date with atomic $inc on every booking and payment state
+ * change, and rebuilt nightly from the source collections. Amounts are stored in paise.
+ */
+@Document(collection = "dashboard_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStats {
+
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id;
+
+    private long totalBookings;
+
+    // Booking count per BookingStatus name
+    private Map<String, Long> bookingStatusCounts = new HashMap<>();
+
+    // Sum of finalAmount over bookings with paymentStatus PAID
+    private long paidBookingRevenueCents;
+
+    private long completedPaymentCount;
+
+    private long completedPaymentCents;
+
+    private long refundedPaymentCents;
+
+    private LocalDateTime rebuiltAt;
+
+    // Bumped by every increment, so a rebuild only replaces the counters it read
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    public long getBookingCount(Booking.BookingStatus status) {
+        return bookingStatusCounts.getOrDefault(status.name(), 0L);
+    }
+
+    public BigDecimal getPaidBookingRevenue() {
+        return BigDecimal.valueOf(paidBookingRevenueCents, 2);
+    }
+}
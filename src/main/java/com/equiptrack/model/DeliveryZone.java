@@ -0,0 +1,50 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery zone: a set of ZIP codes served from one representative point. Delivery
+ * addresses are geocoded to the centroid of the zone their ZIP code belongs to.
+ */
+@Document(collection = "delivery_zones")
+@CompoundIndex(name = "code", def = "{ 'code': 1 }", unique = true)
+@CompoundIndex(name = "zipCodes", def = "{ 'zipCodes': 1 }")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryZone {
+
+    @Id
+    private String id;
+
+    private String code;
+
+    private String name;
+
+    private List<String> zipCodes = new ArrayList<>();
+
+    private Double latitude;
+
+    private Double longitude;
+
+    /**
+     * Flat amount added to the distance-tier fee, e.g. for tolls or restricted access
+     */
+    private BigDecimal surcharge = BigDecimal.ZERO;
+
+    private Boolean isActive = true;
+
+    @CreatedDate
+    private java.time.LocalDateTime createdAt;
+}
@@ -1,6 +1,7 @@
 package com.equiptrack.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,7 +11,7 @@ import java.util.Map;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -24,6 +25,9 @@ import lombok.NoArgsConstructor;
  * Equipment document representing rental equipment items
  */
 @Document(collection = "equipment")
+@CompoundIndex(name = "equipmentCode", def = "{ 'equipmentCode': 1 }", unique = true)
+@CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "locationId_status_categoryId", def = "{ 'locationId': 1, 'status': 1, 'categoryId': 1 }")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,7 +38,6 @@ public class Equipment {
     @Id
     private String id;
 
-    @Indexed(unique = true)
     private String equipmentCode;
 
     private String name;
@@ -95,6 +98,16 @@ public class Equipment {
 
     private LocalDateTime nextMaintenanceDate;
 
+    // Maintained by AvailabilityService from active bookings: first free day after the
+    // booking(s) covering today, and the booking covering today. Both null when free today.
+    private LocalDate nextAvailableDate;
+
+    private String currentBookingId;
+
+    // Stamp of the index state the two fields above were computed from; a write carrying
+    // an older stamp is dropped, so a stale value never overwrites a newer one
+    private Long availabilityVersion;
+
     public enum EquipmentStatus {
         AVAILABLE,
         RENTED,
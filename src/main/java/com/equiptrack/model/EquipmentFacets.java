@@ -0,0 +1,57 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of filtered equipment with the count behind every facet value. Each facet is
+ * counted with all filters applied except its own, so the counts show how many results
+ * choosing that value would give.
+ */
+@Data
+@NoArgsConstructor
+public class EquipmentFacets {
+
+    private List<EquipmentSummary> content = new ArrayList<>();
+
+    private long totalElements;
+
+    private int page;
+
+    private int size;
+
+    private Map<String, Long> categories = new LinkedHashMap<>();
+
+    private Map<String, Long> locations = new LinkedHashMap<>();
+
+    private Map<String, Long> statuses = new LinkedHashMap<>();
+
+    private Map<String, Long> manufacturers = new LinkedHashMap<>();
+
+    private Map<String, Long> conditions = new LinkedHashMap<>();
+
+    private List<PriceBand> priceBands = new ArrayList<>();
+
+    public int getTotalPages() {
+        return size == 0 ? 0 : (int) ((totalElements + size - 1) / size);
+    }
+
+    /**
+     * Daily-rate band [min, max); max is null for the open-ended top band
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBand {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+    }
+}
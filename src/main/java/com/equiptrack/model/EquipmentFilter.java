@@ -0,0 +1,27 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * Catalog filters that can be combined freely; null fields do not filter. The price range
+ * applies to the daily rate, minimum inclusive and maximum exclusive.
+ */
+@Data
+public class EquipmentFilter {
+
+    private String categoryId;
+
+    private String locationId;
+
+    private Equipment.EquipmentStatus status;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private String manufacturer;
+
+    private Equipment.EquipmentCondition condition;
+}
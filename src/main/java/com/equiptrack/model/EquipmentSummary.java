@@ -0,0 +1,64 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only projection of an equipment document with just what catalog cards and list
+ * responses show. Queries returning it load only {@link #FIELDS} from MongoDB, leaving
+ * out terms, specifications, images, maintenance and audit fields.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EquipmentSummary {
+
+    public static final String FIELDS = "{ 'equipmentCode': 1, 'name': 1, 'description': 1, 'categoryId': 1, 'locationId': 1, "
+            + "'dailyRate': 1, 'status': 1, 'condition': 1, 'manufacturer': 1, 'model': 1, 'imageUrl': 1, "
+            + "'isFeatured': 1, 'averageRating': 1, 'nextAvailableDate': 1, 'createdAt': 1 }";
+
+    public static final String[] FIELD_NAMES = {"equipmentCode", "name", "description", "categoryId", "locationId",
+            "dailyRate", "status", "condition", "manufacturer", "model", "imageUrl",
+            "isFeatured", "averageRating", "nextAvailableDate", "createdAt"};
+
+    @Id
+    private String id;
+
+    private String equipmentCode;
+
+    private String name;
+
+    private String description;
+
+    private String categoryId;
+
+    private String locationId;
+
+    private BigDecimal dailyRate;
+
+    private Equipment.EquipmentStatus status;
+
+    private Equipment.EquipmentCondition condition;
+
+    private String manufacturer;
+
+    private String model;
+
+    private String imageUrl;
+
+    private Boolean isFeatured;
+
+    private Double averageRating;
+
+    private LocalDate nextAvailableDate;
+
+    private LocalDateTime createdAt;
+}
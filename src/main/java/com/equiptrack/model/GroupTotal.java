@@ -0,0 +1,25 @@
+package com.equiptrack.model;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a $group aggregation: the grouping key with its document count and summed amount
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupTotal {
+
+    @Id
+    private String id;
+
+    private long count;
+
+    private BigDecimal total = BigDecimal.ZERO;
+}
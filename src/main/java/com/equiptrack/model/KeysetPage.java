@@ -0,0 +1,23 @@
+package com.equiptrack.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a newest-first keyset scan. Pass nextCursor back to get the following page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private String nextCursor;
+}
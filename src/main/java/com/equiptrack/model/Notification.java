@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import lombok.NoArgsConstructor;
  * Notification document for user notifications
  */
 @Document(collection = "notifications")
+@CompoundIndex(name = "userId_createdAt_id", def = "{ 'userId': 1, 'createdAt': -1, '_id': -1 }")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
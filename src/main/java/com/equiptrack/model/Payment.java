@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,6 +19,7 @@ import lombok.NoArgsConstructor;
  * Payment document for tracking payment transactions
  */
 @Document(collection = "payments")
+@CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,50 @@
+package com.equiptrack.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservation ledger document, one per equipment (the id is the equipment ID).
+ * Holds the date ranges claimed by active bookings so a claim can be checked and
+ * recorded in a single conditional write.
+ */
+@Document(collection = "reservation_ledgers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationLedger {
+
+    @Id
+    private String id;
+
+    private Long version = 0L;
+
+    private List<Reservation> reservations = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * A claimed date range, stored as inclusive epoch days
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Reservation {
+
+        private String bookingId;
+
+        private Long startDay;
+
+        private Long endDay;
+
+        private LocalDateTime claimedAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.equiptrack.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated revenue for one period (day, ISO week or month) across all payments or
+ * for a single location or category. Amounts are in paise. The ID is derived from the
+ * bucket coordinates so buckets can be fetched and upserted without a query.
+ */
+@Document(collection = "revenue_rollups")
+@CompoundIndex(name = "series", def = "{ 'granularity': 1, 'dimension': 1, 'dimensionId': 1, 'periodStart': 1 }")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRollup {
+
+    public static final String ALL = "all";
+
+    @Id
+    private String id;
+
+    private Granularity granularity;
+
+    private LocalDate periodStart;
+
+    private Dimension dimension;
+
+    // Location or category ID, or "all"
+    private String dimensionId;
+
+    private long revenueCents;
+
+    private long refundCents;
+
+    private long paymentCount;
+
+    private LocalDateTime updatedAt;
+
+    public static RevenueRollup bucket(Granularity granularity, LocalDate date, Dimension dimension, String dimensionId) {
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.setGranularity(granularity);
+        rollup.setPeriodStart(granularity.periodStart(date));
+        rollup.setDimension(dimension);
+        rollup.setDimensionId(dimensionId);
+        rollup.setId(idFor(granularity, rollup.getPeriodStart(), dimension, dimensionId));
+        return rollup;
+    }
+
+    public static String idFor(Granularity granularity, LocalDate periodStart, Dimension dimension, String dimensionId) {
+        return granularity + ":" + dimension + ":" + dimensionId + ":" + periodStart;
+    }
+
+    public long getNetCents() {
+        return revenueCents - refundCents;
+    }
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public LocalDate periodStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+
+    public enum Dimension {
+        ALL,
+        LOCATION,
+        CATEGORY
+    }
+}
@@ -0,0 +1,78 @@
+package com.equiptrack.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One day's truck routes: for each origin location, the deliveries and pickups of that day
+ * in driving order, starting and ending at the location. Stops that cannot be placed on a
+ * route (no coordinates, or equipment without a location) are listed separately.
+ */
+@Data
+@NoArgsConstructor
+public class RoutePlan {
+
+    private LocalDate date;
+
+    private LocalDateTime plannedAt;
+
+    private List<Route> routes = new ArrayList<>();
+
+    private List<Stop> unroutable = new ArrayList<>();
+
+    private int stopCount;
+
+    private double totalDistanceKm;
+
+    private long solveMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String locationId;
+        private String locationName;
+        private Double latitude;
+        private Double longitude;
+        private List<Stop> stops = new ArrayList<>();
+        /**
+         * Length of the loop from the location through every stop and back
+         */
+        private double distanceKm;
+        /**
+         * Length of the same loop in nearest-neighbour order, before 2-opt improvement
+         */
+        private double initialDistanceKm;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stop {
+        private int sequence;
+        private StopType type;
+        private String bookingId;
+        private String bookingNumber;
+        private String equipmentId;
+        private String equipmentName;
+        private String address;
+        private Double latitude;
+        private Double longitude;
+        /**
+         * Distance from the previous stop (or the location, for the first stop)
+         */
+        private double legDistanceKm;
+        private String note;
+    }
+
+    public enum StopType {
+        DELIVERY,
+        PICKUP
+    }
+}
@@ -2,37 +2,65 @@ package com.equiptrack.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.equiptrack.model.Booking;
+import com.equiptrack.model.GroupTotal;
 
 @Repository
-public interface BookingRepository extends MongoRepository<Booking, String> {
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
     
     Optional<Booking> findByBookingNumber(String bookingNumber);
     
-    List<Booking> findByCustomerId(String customerId);
-    
     List<Booking> findByEquipmentId(String equipmentId);
     
     List<Booking> findByStatus(Booking.BookingStatus status);
     
     List<Booking> findByCustomerIdAndStatus(String customerId, Booking.BookingStatus status);
     
-    @Query("{ 'equipmentId': ?0, 'status': { $nin: ['CANCELLED', 'COMPLETED'] }, $and: [ { 'startDate': { $lte: ?2 } }, { 'endDate': { $gte: ?1 } } ] }")
+    @Query("{ 'equipmentId': ?0, 'status': { $nin: ['CANCELLED', 'COMPLETED', 'NO_SHOW'] }, $and: [ { 'startDate': { $lte: ?2 } }, { 'endDate': { $gte: ?1 } } ] }")
     List<Booking> findConflictingBookings(String equipmentId, LocalDate startDate, LocalDate endDate);
     
+    @Query(value = "{ 'equipmentId': { $in: ?0 }, 'status': { $nin: ['CANCELLED', 'COMPLETED', 'NO_SHOW'] }, $and: [ { 'startDate': { $lte: ?2 } }, { 'endDate': { $gte: ?1 } } ] }", fields = "{ 'equipmentId': 1 }")
+    List<Booking> findConflictingBookingsForEquipment(Collection<String> equipmentIds, LocalDate startDate, LocalDate endDate);
+    
+    @Query(value = "{ 'status': { $nin: ['CANCELLED', 'COMPLETED', 'NO_SHOW'] } }", fields = "{ 'equipmentId': 1, 'startDate': 1, 'endDate': 1, 'status': 1 }")
+    Stream<Booking> streamActiveBookingIntervals();
+    
+    @Query(value = "{ 'status': { $in: ['CANCELLED', 'COMPLETED', 'NO_SHOW'] }, 'updatedAt': { $gte: ?0 } }", fields = "{ 'equipmentId': 1 }")
+    List<Booking> findEndedSince(LocalDateTime since);
+    
+    @Query(value = "{ 'status': { $nin: ['CANCELLED', 'COMPLETED', 'NO_SHOW'] }, 'startDate': { $lte: ?1 }, 'endDate': { $gte: ?0 } }", fields = "{ 'equipmentId': 1, 'startDate': 1, 'endDate': 1 }")
+    Stream<Booking> streamActiveBookingsOverlapping(LocalDate startDate, LocalDate endDate);
+    
     @Query("{ 'startDate': { $gte: ?0, $lte: ?1 } }")
     List<Booking> findBookingsByDateRange(LocalDate startDate, LocalDate endDate);
     
     @Query(value = "{ 'customerId': ?0 }", sort = "{ 'createdAt': -1 }")
     List<Booking> findRecentBookingsByCustomer(String customerId);
     
+    List<Booking> findTop20ByOrderByCreatedAtDesc();
+    
+    // Spend per customer over confirmed or (partially) paid bookings; amounts may be stored as strings
+    @Aggregation(pipeline = {
+            "{ $match: { $or: [ { 'status': 'CONFIRMED' }, { 'paymentStatus': { $in: ['PAID', 'PARTIALLY_PAID'] } } ] } }",
+            "{ $group: { '_id': '$customerId', 'count': { $sum: 1 }, 'total': { $sum: { $toDecimal: { $ifNull: ['$finalAmount', 0] } } } } }"
+    })
+    List<GroupTotal> sumSpendByCustomer();
+    
+    @Aggregation(pipeline = {
+            "{ $group: { '_id': '$equipmentId', 'count': { $sum: 1 } } }"
+    })
+    List<GroupTotal> countBookingsByEquipment();
+    
     @Query(value = "{ 'status': ?0 }", count = true)
     Long countByStatus(Booking.BookingStatus status);
     
@@ -44,4 +72,21 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
     
     @Query("{ 'startDate': ?0, 'status': 'CONFIRMED' }")
     List<Booking> findBookingsStartingOn(LocalDate date);
+    
+    @Query(value = "{ 'startDate': ?0, 'status': { $in: ['CONFIRMED', 'IN_PROGRESS'] }, 'requiresDelivery': true }",
+           fields = "{ 'bookingNumber': 1, 'equipmentId': 1, 'deliveryAddress': 1, 'deliveryLatitude': 1, 'deliveryLongitude': 1 }")
+    List<Booking> findDeliveriesStartingOn(LocalDate date);
+    
+    @Query(value = "{ 'endDate': ?0, 'status': { $in: ['CONFIRMED', 'IN_PROGRESS'] }, 'requiresDelivery': true }",
+           fields = "{ 'bookingNumber': 1, 'equipmentId': 1, 'deliveryAddress': 1, 'deliveryLatitude': 1, 'deliveryLongitude': 1 }")
+    List<Booking> findPickupsEndingOn(LocalDate date);
+    
+    @Query(value = "{ 'status': 'CONFIRMED', 'startDate': { $lte: ?0 }, 'paymentStatus': 'PAID' }", fields = "{ '_id': 1 }")
+    Stream<Booking> streamPickupsDueBy(LocalDate date);
+    
+    @Query(value = "{ 'status': 'CONFIRMED', 'startDate': { $lt: ?0 }, 'paymentStatus': { $ne: 'PAID' } }", fields = "{ '_id': 1 }")
+    Stream<Booking> streamUnpaidStartingBefore(LocalDate date);
+    
+    @Query(value = "{ 'status': 'IN_PROGRESS', 'endDate': { $lt: ?0 } }", fields = "{ '_id': 1 }")
+    Stream<Booking> streamReturnsDueBefore(LocalDate date);
 }
@@ -0,0 +1,29 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.equiptrack.model.Booking;
+
+/**
+ * Custom booking writes that need bulk operations, and queries that need dynamic criteria
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Writes the lifecycle fields (status, confirmation, pickup/return and cancellation details)
+     * of each booking in one unordered bulk write. Each update only applies while the stored
+     * status still equals the booking's entry in {@code previousStatuses}, so a concurrent
+     * transition is never overwritten. Returns the number of bookings matched.
+     */
+    int bulkSaveTransitions(List<Booking> bookings, Map<String, Booking.BookingStatus> previousStatuses);
+
+    /**
+     * Bookings starting within the optional date range and in any of the optional statuses,
+     * read lazily from one cursor. The caller must close the stream.
+     */
+    Stream<Booking> streamForExport(LocalDate startFrom, LocalDate startTo, Collection<Booking.BookingStatus> statuses);
+}
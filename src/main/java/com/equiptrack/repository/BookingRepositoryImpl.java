@@ -0,0 +1,63 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.equiptrack.model.Booking;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link BookingRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int bulkSaveTransitions(List<Booking> bookings, Map<String, Booking.BookingStatus> previousStatuses) {
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+        for (Booking booking : bookings) {
+            Query query = new Query(Criteria.where("_id").is(booking.getId())
+                    .and("status").is(previousStatuses.get(booking.getId())));
+            Update update = new Update()
+                    .set("status", booking.getStatus())
+                    .set("updatedAt", now);
+            setIfPresent(update, "confirmedAt", booking.getConfirmedAt());
+            setIfPresent(update, "confirmedById", booking.getConfirmedById());
+            setIfPresent(update, "actualPickupTime", booking.getActualPickupTime());
+            setIfPresent(update, "actualReturnTime", booking.getActualReturnTime());
+            setIfPresent(update, "cancelledAt", booking.getCancelledAt());
+            setIfPresent(update, "cancellationReason", booking.getCancellationReason());
+            setIfPresent(update, "cancelledById", booking.getCancelledById());
+            ops.updateOne(query, update);
+        }
+        return ops.execute().getMatchedCount();
+    }
+
+    @Override
+    public Stream<Booking> streamForExport(LocalDate startFrom, LocalDate startTo, Collection<Booking.BookingStatus> statuses) {
+        return mongoTemplate.stream(ExportQueries.filtered("startDate", startFrom, startTo, statuses), Booking.class);
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+}
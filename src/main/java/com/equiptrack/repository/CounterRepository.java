@@ -0,0 +1,10 @@
+package com.equiptrack.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.equiptrack.model.Counter;
+
+@Repository
+public interface CounterRepository extends MongoRepository<Counter, String>, CounterRepositoryCustom {
+}
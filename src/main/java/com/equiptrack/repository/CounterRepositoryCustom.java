@@ -0,0 +1,18 @@
+package com.equiptrack.repository;
+
+/**
+ * Atomic counter operations used to lease blocks of sequence values
+ */
+public interface CounterRepositoryCustom {
+
+    /**
+     * Atomically advances the named counter by {@code blockSize} and returns its new value,
+     * i.e. the last value of the leased block
+     */
+    long reserveBlock(String name, int blockSize);
+
+    /**
+     * Raises the named counter to at least {@code floor}, creating it if needed
+     */
+    void ensureAtLeast(String name, long floor);
+}
@@ -0,0 +1,38 @@
+package com.equiptrack.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.equiptrack.model.Counter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link CounterRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class CounterRepositoryImpl implements CounterRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long reserveBlock(String name, int blockSize) {
+        Counter counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(name)),
+                new Update().inc("seq", blockSize),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Counter.class);
+        return counter.getSeq();
+    }
+
+    @Override
+    public void ensureAtLeast(String name, long floor) {
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(name)),
+                new Update().max("seq", floor),
+                Counter.class);
+    }
+}
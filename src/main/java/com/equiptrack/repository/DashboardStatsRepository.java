@@ -0,0 +1,10 @@
+package com.equiptrack.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.equiptrack.model.DashboardStats;
+
+@Repository
+public interface DashboardStatsRepository extends MongoRepository<DashboardStats, String>, DashboardStatsRepositoryCustom {
+}
@@ -0,0 +1,30 @@
+package com.equiptrack.repository;
+
+import java.util.Map;
+
+import com.equiptrack.model.DashboardStats;
+
+/**
+ * Atomic counter updates and source recomputation for the dashboard stats document
+ */
+public interface DashboardStatsRepositoryCustom {
+
+    /**
+     * Applies the deltas (field path to amount) to the stats document with a single
+     * upserting $inc, bumping the version
+     */
+    void increment(String id, Map<String, Long> deltas);
+
+    /**
+     * Replaces the stats document only if its version still equals {@code expectedVersion}
+     * (null when there was no document), storing the next version. Returns false when an
+     * increment landed in between.
+     */
+    boolean replaceIfUnchanged(DashboardStats stats, Long expectedVersion);
+
+    /**
+     * Recomputes all counters from the bookings and payments collections with one
+     * $group pass over each
+     */
+    DashboardStats computeFromSource(String id);
+}
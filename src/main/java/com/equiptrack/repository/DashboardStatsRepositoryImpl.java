@@ -0,0 +1,118 @@
+package com.equiptrack.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.DashboardStats;
+import com.equiptrack.model.Payment;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link DashboardStatsRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class DashboardStatsRepositoryImpl implements DashboardStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(String id, Map<String, Long> deltas) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now()).inc("version", 1L);
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                update.inc(field, delta);
+            }
+        });
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)), update, DashboardStats.class);
+    }
+
+    @Override
+    public boolean replaceIfUnchanged(DashboardStats stats, Long expectedVersion) {
+        if (expectedVersion == null) {
+            try {
+                stats.setVersion(0L);
+                mongoTemplate.insert(stats);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        // Documents written before versioning have no version field, which reads as 0
+        Criteria version = expectedVersion == 0L
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(expectedVersion);
+        stats.setVersion(expectedVersion + 1);
+        return mongoTemplate.findAndReplace(
+                new Query(Criteria.where("_id").is(stats.getId()).andOperator(version)), stats) != null;
+    }
+
+    @Override
+    public DashboardStats computeFromSource(String id) {
+        DashboardStats stats = new DashboardStats();
+        stats.setId(id);
+
+        // Amounts may be stored as strings, so sums go through $toDecimal
+        Aggregation bookings = Aggregation.newAggregation(context -> new Document("$group",
+                new Document("_id", "$status")
+                        .append("count", new Document("$sum", 1))
+                        .append("paid", new Document("$sum", new Document("$cond", List.of(
+                                new Document("$eq", List.of("$paymentStatus", Booking.PaymentStatus.PAID.name())),
+                                new Document("$toDecimal", new Document("$ifNull", List.of("$finalAmount", 0))),
+                                0))))));
+        for (Document row : mongoTemplate.aggregate(bookings, Booking.class, Document.class)) {
+            long count = ((Number) row.get("count")).longValue();
+            stats.setTotalBookings(stats.getTotalBookings() + count);
+            if (row.get("_id") != null) {
+                stats.getBookingStatusCounts().put(row.getString("_id"), count);
+            }
+            stats.setPaidBookingRevenueCents(stats.getPaidBookingRevenueCents() + toCents(row.get("paid")));
+        }
+
+        Aggregation payments = Aggregation.newAggregation(context -> new Document("$group",
+                new Document("_id", "$status")
+                        .append("count", new Document("$sum", 1))
+                        .append("amount", new Document("$sum",
+                                new Document("$toDecimal", new Document("$ifNull", List.of("$amount", 0)))))
+                        .append("refunded", new Document("$sum",
+                                new Document("$toDecimal", new Document("$ifNull", List.of("$refundedAmount", 0)))))));
+        for (Document row : mongoTemplate.aggregate(payments, Payment.class, Document.class)) {
+            if (Payment.PaymentStatus.COMPLETED.name().equals(row.getString("_id"))) {
+                stats.setCompletedPaymentCount(((Number) row.get("count")).longValue());
+                stats.setCompletedPaymentCents(toCents(row.get("amount")));
+            } else if (Payment.PaymentStatus.REFUNDED.name().equals(row.getString("_id"))) {
+                stats.setRefundedPaymentCents(toCents(row.get("refunded")));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        stats.setRebuiltAt(now);
+        stats.setUpdatedAt(now);
+        return stats;
+    }
+
+    private static long toCents(Object value) {
+        BigDecimal amount;
+        if (value instanceof Decimal128 decimal) {
+            amount = decimal.bigDecimalValue();
+        } else if (value instanceof Number number) {
+            amount = BigDecimal.valueOf(number.doubleValue());
+        } else {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,17 @@
+package com.equiptrack.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.equiptrack.model.DeliveryZone;
+
+@Repository
+public interface DeliveryZoneRepository extends MongoRepository<DeliveryZone, String> {
+    
+    Optional<DeliveryZone> findByCode(String code);
+    
+    List<DeliveryZone> findByIsActiveTrue();
+}
@@ -1,44 +1,60 @@
 package com.equiptrack.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentSummary;
 
 @Repository
-public interface EquipmentRepository extends MongoRepository<Equipment, String> {
+public interface EquipmentRepository extends MongoRepository<Equipment, String>, EquipmentRepositoryCustom {
     
     Optional<Equipment> findByEquipmentCode(String equipmentCode);
     
+    @Query(value = "{ 'equipmentCode': { $in: ?0 } }", fields = "{ 'equipmentCode': 1 }")
+    List<Equipment> findCodesIn(Collection<String> equipmentCodes);
+    
+    Optional<Equipment> findTopByEquipmentCodeStartingWithOrderByEquipmentCodeDesc(String prefix);
+    
     List<Equipment> findByStatus(Equipment.EquipmentStatus status);
     
     List<Equipment> findByCategoryId(String categoryId);
     
-    List<Equipment> findByLocationId(String locationId);
+    @Query(value = "{ 'locationId': ?0 }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findSummariesByLocationId(String locationId);
     
     List<Equipment> findByIsActiveTrue();
     
-    List<Equipment> findByIsFeaturedTrue();
+    @Query(value = "{ 'isFeatured': true }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findFeaturedSummaries();
+    
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findSummariesByIdIn(Collection<String> ids);
     
-    @Query("{ 'status': 'AVAILABLE', 'isActive': true }")
-    List<Equipment> findAvailableEquipment();
+    @Query(value = "{ 'status': 'AVAILABLE', 'isActive': true }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findAvailableSummaries();
     
-    @Query("{ 'categoryId': ?0, 'status': 'AVAILABLE', 'isActive': true }")
-    List<Equipment> findAvailableEquipmentByCategory(String categoryId);
+    @Query(value = "{}", fields = "{ 'dailyRate': 1, 'weeklyRate': 1, 'monthlyRate': 1, 'locationId': 1, 'isActive': 1 }")
+    Stream<Equipment> streamRateRows();
+    
+    @Query(value = "{ 'isActive': true }", fields = "{ 'name': 1, 'description': 1, 'manufacturer': 1, 'model': 1, 'equipmentCode': 1, 'specifications': 1 }")
+    Stream<Equipment> streamSearchRows();
+    
+    @Query(value = "{ 'categoryId': ?0, 'status': 'AVAILABLE', 'isActive': true }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findAvailableSummariesByCategory(String categoryId);
     
     @Query("{ 'locationId': ?0, 'status': 'AVAILABLE', 'isActive': true }")
     List<Equipment> findAvailableEquipmentByLocation(String locationId);
     
-    @Query("{ $or: [ { 'name': { $regex: ?0, $options: 'i' } }, { 'description': { $regex: ?0, $options: 'i' } }, { 'manufacturer': { $regex: ?0, $options: 'i' } } ] }")
-    List<Equipment> searchEquipment(String keyword);
-    
-    @Query("{ 'dailyRate': { $gte: ?0, $lte: ?1 } }")
-    List<Equipment> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    @Query(value = "{ 'dailyRate': { $gte: ?0, $lte: ?1 } }", fields = EquipmentSummary.FIELDS)
+    List<EquipmentSummary> findSummariesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
     
     @Query(value = "{ 'status': ?0 }", count = true)
     Long countByStatus(Equipment.EquipmentStatus status);
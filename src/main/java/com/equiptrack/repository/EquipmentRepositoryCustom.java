@@ -0,0 +1,78 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentFacets;
+import com.equiptrack.model.EquipmentFilter;
+import com.equiptrack.model.EquipmentSummary;
+
+/**
+ * Custom equipment queries that need dynamic criteria or field projections
+ */
+public interface EquipmentRepositoryCustom {
+
+    /**
+     * insertAll's error message for a row whose equipment code is already taken
+     */
+    String DUPLICATE_CODE = "equipmentCode already exists";
+
+    /**
+     * Lightweight rows (id, code, name, category, location, status) of active equipment,
+     * optionally restricted to a category and/or location
+     */
+    List<Equipment> findFleetRows(String categoryId, String locationId);
+
+    /**
+     * Active, rentable equipment in the optional category and location, excluding the given
+     * (booked) equipment IDs, sorted by daily rate
+     */
+    Page<EquipmentSummary> findAvailableInWindow(String categoryId, String locationId,
+                                          Collection<String> bookedEquipmentIds, Pageable pageable);
+
+    /**
+     * Active, AVAILABLE equipment at any of the locations, optionally in one category, as
+     * summaries from a single $in query
+     */
+    List<EquipmentSummary> findAvailableAtLocations(Collection<String> locationIds, String categoryId);
+
+    /**
+     * Active equipment matching every filter, sorted by daily rate, together with the
+     * category, location, status, manufacturer, condition and price-band counts, all from
+     * one $facet aggregation
+     */
+    EquipmentFacets findFaceted(EquipmentFilter filter, Pageable pageable);
+
+    /**
+     * Inserts new equipment in one unordered bulk write. Returns the error message for
+     * each list position that was not inserted (e.g. a duplicate equipment code); every
+     * other position was written.
+     */
+    Map<Integer, String> insertAll(List<Equipment> equipment);
+
+    /**
+     * Equipment created within the optional range and in any of the optional statuses, read
+     * lazily from one cursor. The caller must close the stream.
+     */
+    Stream<Equipment> streamForExport(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                      Collection<Equipment.EquipmentStatus> statuses);
+
+    /**
+     * Writes the status and maintenance dates of each equipment in one unordered bulk write
+     */
+    void bulkSaveStatuses(Collection<Equipment> equipment);
+
+    /**
+     * Writes the denormalized nextAvailableDate and currentBookingId of each equipment in
+     * one unordered bulk write, leaving the rest of the document untouched. A row is skipped
+     * when the stored availabilityVersion is already at or past its own.
+     */
+    void bulkSaveAvailability(Collection<Equipment> equipment);
+}
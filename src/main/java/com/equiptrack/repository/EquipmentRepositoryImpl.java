@@ -0,0 +1,307 @@
+package com.equiptrack.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentFacets;
+import com.equiptrack.model.EquipmentFilter;
+import com.equiptrack.model.EquipmentSummary;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link EquipmentRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class EquipmentRepositoryImpl implements EquipmentRepositoryCustom {
+
+    private static final String DAILY_RATE_VALUE = "dailyRateValue";
+    private static final String PRICE_FACET = "price";
+    private static final String OPEN_PRICE_BAND = "open";
+    private static final int[] PRICE_BAND_BOUNDARIES = {0, 2000, 5000, 10000, 25000};
+    private static final int MANUFACTURER_FACET_LIMIT = 20;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Equipment> findFleetRows(String categoryId, String locationId) {
+        Criteria criteria = Criteria.where("isActive").is(true);
+        if (categoryId != null && !categoryId.isEmpty()) {
+            criteria = criteria.and("categoryId").is(categoryId);
+        }
+        if (locationId != null && !locationId.isEmpty()) {
+            criteria = criteria.and("locationId").is(locationId);
+        }
+        Query query = new Query(criteria).with(Sort.by("equipmentCode"));
+        query.fields().include("equipmentCode", "name", "categoryId", "locationId", "status");
+        return mongoTemplate.find(query, Equipment.class);
+    }
+
+    @Override
+    public Page<EquipmentSummary> findAvailableInWindow(String categoryId, String locationId,
+                                                 Collection<String> bookedEquipmentIds, Pageable pageable) {
+        Criteria criteria = Criteria.where("isActive").is(true)
+                .and("status").nin(Equipment.EquipmentStatus.OUT_OF_SERVICE, Equipment.EquipmentStatus.RETIRED);
+        if (categoryId != null && !categoryId.isEmpty()) {
+            criteria = criteria.and("categoryId").is(categoryId);
+        }
+        if (locationId != null && !locationId.isEmpty()) {
+            criteria = criteria.and("locationId").is(locationId);
+        }
+        if (!bookedEquipmentIds.isEmpty()) {
+            criteria = criteria.and("id").nin(bookedEquipmentIds);
+        }
+
+        long total = mongoTemplate.count(new Query(criteria), Equipment.class);
+        if (total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                addDailyRateValue(),
+                context -> new Document("$sort", new Document(DAILY_RATE_VALUE, 1).append("_id", 1)),
+                context -> new Document("$skip", pageable.getOffset()),
+                context -> new Document("$limit", pageable.getPageSize()),
+                projectSummary());
+        List<EquipmentSummary> content = mongoTemplate.aggregate(aggregation, Equipment.class, EquipmentSummary.class)
+                .getMappedResults();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<EquipmentSummary> findAvailableAtLocations(Collection<String> locationIds, String categoryId) {
+        Criteria criteria = Criteria.where("locationId").in(locationIds)
+                .and("status").is(Equipment.EquipmentStatus.AVAILABLE)
+                .and("isActive").is(true);
+        if (categoryId != null && !categoryId.isEmpty()) {
+            criteria = criteria.and("categoryId").is(categoryId);
+        }
+        Query query = new Query(criteria);
+        query.fields().include(EquipmentSummary.FIELD_NAMES);
+        return mongoTemplate.find(query, EquipmentSummary.class, mongoTemplate.getCollectionName(Equipment.class));
+    }
+
+    @Override
+    public EquipmentFacets findFaceted(EquipmentFilter filter, Pageable pageable) {
+        Document facets = new Document()
+                .append("results", List.of(
+                        new Document("$match", facetMatch(filter, null)),
+                        new Document("$sort", new Document(DAILY_RATE_VALUE, 1).append("_id", 1)),
+                        new Document("$skip", pageable.getOffset()),
+                        new Document("$limit", pageable.getPageSize()),
+                        summaryProjection()))
+                .append("total", List.of(
+                        new Document("$match", facetMatch(filter, null)),
+                        new Document("$count", "count")))
+                .append("categoryId", countBy(filter, "categoryId"))
+                .append("locationId", countBy(filter, "locationId"))
+                .append("status", countBy(filter, "status"))
+                .append("condition", countBy(filter, "condition"))
+                .append("manufacturer", List.of(
+                        new Document("$match", facetMatch(filter, "manufacturer")),
+                        new Document("$group", new Document("_id", "$manufacturer").append("count", new Document("$sum", 1))),
+                        new Document("$sort", new Document("count", -1).append("_id", 1)),
+                        new Document("$limit", MANUFACTURER_FACET_LIMIT)))
+                .append(PRICE_FACET, List.of(
+                        new Document("$match", facetMatch(filter, PRICE_FACET)
+                                .append(DAILY_RATE_VALUE, new Document("$ne", null))),
+                        new Document("$bucket", new Document("groupBy", "$" + DAILY_RATE_VALUE)
+                                .append("boundaries", Arrays.stream(PRICE_BAND_BOUNDARIES).boxed().toList())
+                                .append("default", OPEN_PRICE_BAND)
+                                .append("output", new Document("count", new Document("$sum", 1))))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("isActive").is(true)),
+                addDailyRateValue(),
+                context -> new Document("$facet", facets));
+        Document result = mongoTemplate.aggregate(aggregation, Equipment.class, Document.class).getUniqueMappedResult();
+
+        EquipmentFacets page = new EquipmentFacets();
+        page.setPage(pageable.getPageNumber());
+        page.setSize(pageable.getPageSize());
+        if (result == null) {
+            return page;
+        }
+        for (Document row : result.getList("results", Document.class)) {
+            page.getContent().add(mongoTemplate.getConverter().read(EquipmentSummary.class, row));
+        }
+        List<Document> total = result.getList("total", Document.class);
+        page.setTotalElements(total.isEmpty() ? 0 : count(total.get(0)));
+        page.setCategories(counts(result, "categoryId"));
+        page.setLocations(counts(result, "locationId"));
+        page.setStatuses(counts(result, "status"));
+        page.setConditions(counts(result, "condition"));
+        page.setManufacturers(counts(result, "manufacturer"));
+
+        Map<Object, Long> bands = new HashMap<>();
+        for (Document row : result.getList(PRICE_FACET, Document.class)) {
+            bands.put(row.get("_id"), count(row));
+        }
+        for (int i = 0; i < PRICE_BAND_BOUNDARIES.length - 1; i++) {
+            page.getPriceBands().add(new EquipmentFacets.PriceBand(BigDecimal.valueOf(PRICE_BAND_BOUNDARIES[i]),
+                    BigDecimal.valueOf(PRICE_BAND_BOUNDARIES[i + 1]), bands.getOrDefault(PRICE_BAND_BOUNDARIES[i], 0L)));
+        }
+        page.getPriceBands().add(new EquipmentFacets.PriceBand(
+                BigDecimal.valueOf(PRICE_BAND_BOUNDARIES[PRICE_BAND_BOUNDARIES.length - 1]), null,
+                bands.getOrDefault(OPEN_PRICE_BAND, 0L)));
+        return page;
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Equipment> equipment) {
+        if (equipment.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Equipment.class).insert(equipment).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getCode() == DUPLICATE_KEY_ERROR
+                        ? DUPLICATE_CODE : error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    @Override
+    public Stream<Equipment> streamForExport(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                             Collection<Equipment.EquipmentStatus> statuses) {
+        return mongoTemplate.stream(ExportQueries.filtered("createdAt", createdFrom, createdTo, statuses), Equipment.class);
+    }
+
+    @Override
+    public void bulkSaveStatuses(Collection<Equipment> equipment) {
+        if (equipment.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Equipment.class);
+        for (Equipment e : equipment) {
+            ops.updateOne(new Query(Criteria.where("_id").is(e.getId())), new Update()
+                    .set("status", e.getStatus())
+                    .set("lastMaintenanceDate", e.getLastMaintenanceDate())
+                    .set("nextMaintenanceDate", e.getNextMaintenanceDate())
+                    .set("updatedAt", now));
+        }
+        ops.execute();
+    }
+
+    @Override
+    public void bulkSaveAvailability(Collection<Equipment> equipment) {
+        if (equipment.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Equipment.class);
+        for (Equipment e : equipment) {
+            ops.updateOne(new Query(Criteria.where("_id").is(e.getId())
+                            .and("availabilityVersion").not().gte(e.getAvailabilityVersion())), new Update()
+                    .set("nextAvailableDate", e.getNextAvailableDate())
+                    .set("currentBookingId", e.getCurrentBookingId())
+                    .set("availabilityVersion", e.getAvailabilityVersion()));
+        }
+        ops.execute();
+    }
+
+    private static List<Document> countBy(EquipmentFilter filter, String field) {
+        return List.of(
+                new Document("$match", facetMatch(filter, field)),
+                new Document("$group", new Document("_id", "$" + field).append("count", new Document("$sum", 1))),
+                new Document("$sort", new Document("count", -1).append("_id", 1)));
+    }
+
+    /**
+     * Every filter except the excluded facet's own, so that facet counts its alternatives
+     */
+    private static Document facetMatch(EquipmentFilter filter, String excludedFacet) {
+        Document match = new Document();
+        if (filter.getCategoryId() != null && !"categoryId".equals(excludedFacet)) {
+            match.append("categoryId", filter.getCategoryId());
+        }
+        if (filter.getLocationId() != null && !"locationId".equals(excludedFacet)) {
+            match.append("locationId", filter.getLocationId());
+        }
+        if (filter.getStatus() != null && !"status".equals(excludedFacet)) {
+            match.append("status", filter.getStatus().name());
+        }
+        if (filter.getCondition() != null && !"condition".equals(excludedFacet)) {
+            match.append("condition", filter.getCondition().name());
+        }
+        if (filter.getManufacturer() != null && !"manufacturer".equals(excludedFacet)) {
+            match.append("manufacturer", filter.getManufacturer());
+        }
+        if ((filter.getMinPrice() != null || filter.getMaxPrice() != null) && !PRICE_FACET.equals(excludedFacet)) {
+            Document range = new Document();
+            if (filter.getMinPrice() != null) {
+                range.append("$gte", new Decimal128(filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                range.append("$lt", new Decimal128(filter.getMaxPrice()));
+            }
+            match.append(DAILY_RATE_VALUE, range);
+        }
+        return match;
+    }
+
+    private static Map<String, Long> counts(Document result, String facet) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document row : result.getList(facet, Document.class)) {
+            if (row.get("_id") != null) {
+                counts.put(row.get("_id").toString(), count(row));
+            }
+        }
+        return counts;
+    }
+
+    private static long count(Document row) {
+        return ((Number) row.get("count")).longValue();
+    }
+
+    private static AggregationOperation projectSummary() {
+        return context -> summaryProjection();
+    }
+
+    private static Document summaryProjection() {
+        Document fields = new Document();
+        for (String field : EquipmentSummary.FIELD_NAMES) {
+            fields.append(field, 1);
+        }
+        return new Document("$project", fields);
+    }
+
+    /**
+     * Rates may be stored as strings, so sorting and range filters work on their decimal value
+     */
+    private static AggregationOperation addDailyRateValue() {
+        return context -> new Document("$addFields",
+                new Document(DAILY_RATE_VALUE, new Document("$toDecimal", "$dailyRate")));
+    }
+}
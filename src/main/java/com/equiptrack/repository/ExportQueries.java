@@ -0,0 +1,36 @@
+package com.equiptrack.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Builds the filtered queries behind the export streams: an optional inclusive range on
+ * one date field and an optional set of statuses. Documents come back in batches of
+ * {@link #CURSOR_BATCH_SIZE} so only one batch is held in memory at a time.
+ */
+final class ExportQueries {
+
+    static final int CURSOR_BATCH_SIZE = 1000;
+
+    private ExportQueries() {
+    }
+
+    static Query filtered(String dateField, Object from, Object to, Collection<?> statuses) {
+        Criteria criteria = new Criteria();
+        if (from != null || to != null) {
+            Criteria range = criteria.and(dateField);
+            if (from != null) {
+                range.gte(from);
+            }
+            if (to != null) {
+                range.lte(to);
+            }
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            criteria.and("status").in(statuses);
+        }
+        return new Query(criteria).cursorBatchSize(CURSOR_BATCH_SIZE);
+    }
+}
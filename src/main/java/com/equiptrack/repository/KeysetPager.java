@@ -0,0 +1,108 @@
+package com.equiptrack.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.equiptrack.model.KeysetPage;
+
+/**
+ * Newest-first keyset (seek) pagination on (createdAt, _id) for any collection. Each page
+ * resumes strictly after the last row of the previous one, so page N costs the same as
+ * page 1 and rows inserted meanwhile are neither skipped nor repeated. The cursor is an
+ * opaque base64 encoding of that last row's createdAt and ID; rows without a createdAt
+ * sort after all dated rows.
+ */
+@Component
+public class KeysetPager {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private final MongoTemplate mongoTemplate;
+    private final int defaultSize;
+    private final int maxSize;
+
+    public KeysetPager(MongoTemplate mongoTemplate,
+                       @Value("${app.pagination.default-size:20}") int defaultSize,
+                       @Value("${app.pagination.max-size:200}") int maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Documents matching the filter, newest first, starting after the cursor (null for the
+     * first page). The size is clamped to the configured maximum.
+     *
+     * @throws IllegalArgumentException if the cursor is not one this pager produced
+     */
+    public <T> KeysetPage<T> page(Class<T> type, Criteria filter, String cursor, Integer size,
+                                  Function<T, LocalDateTime> createdAtOf, Function<T, String> idOf) {
+        return page(type, type, null, filter, cursor, size, createdAtOf, idOf);
+    }
+
+    /**
+     * As {@link #page(Class, Criteria, String, Integer, Function, Function)}, but reads only
+     * the given fields of the document type's collection into a lighter projection type
+     */
+    public <T> KeysetPage<T> page(Class<?> documentType, Class<T> projectionType, String[] fields, Criteria filter,
+                                  String cursor, Integer size,
+                                  Function<T, LocalDateTime> createdAtOf, Function<T, String> idOf) {
+        int limit = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+        Criteria criteria = cursor == null || cursor.isEmpty() ? filter : new Criteria().andOperator(filter, seek(cursor));
+        Query query = new Query(criteria).with(NEWEST_FIRST).limit(limit + 1);
+        if (fields != null) {
+            query.fields().include(fields);
+        }
+
+        List<T> rows = mongoTemplate.find(query, projectionType, mongoTemplate.getCollectionName(documentType));
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, rows.size(), null);
+        }
+        List<T> content = rows.subList(0, limit);
+        T last = content.get(limit - 1);
+        return new KeysetPage<>(content, limit, encode(createdAtOf.apply(last), idOf.apply(last)));
+    }
+
+    private static Criteria seek(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = decoded.indexOf('|');
+        if (separator < 0 || separator == decoded.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String id = decoded.substring(separator + 1);
+        if (separator == 0) {
+            return new Criteria().andOperator(Criteria.where("createdAt").is(null), Criteria.where("id").lt(id));
+        }
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.parse(decoded.substring(0, separator));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                new Criteria().andOperator(Criteria.where("createdAt").is(createdAt), Criteria.where("id").lt(id)),
+                Criteria.where("createdAt").is(null));
+    }
+
+    private static String encode(LocalDateTime createdAt, String id) {
+        String raw = (createdAt != null ? createdAt.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -15,9 +15,6 @@ public interface NotificationRepository extends MongoRepository<Notification, St
     
     List<Notification> findByUserIdAndIsReadFalse(String userId);
     
-    @Query(value = "{ 'userId': ?0 }", sort = "{ 'createdAt': -1 }")
-    List<Notification> findRecentNotificationsByUser(String userId);
-    
     @Query(value = "{ 'userId': ?0, 'isRead': false }", count = true)
     Long countUnreadByUser(String userId);
     
@@ -3,6 +3,7 @@ package com.equiptrack.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Repository;
 import com.equiptrack.model.Payment;
 
 @Repository
-public interface PaymentRepository extends MongoRepository<Payment, String> {
+public interface PaymentRepository extends MongoRepository<Payment, String>, PaymentRepositoryCustom {
     
     Optional<Payment> findByTransactionId(String transactionId);
     
@@ -32,6 +33,12 @@ public interface PaymentRepository extends MongoRepository<Payment, String> {
     @Query(value = "{ 'status': 'COMPLETED', 'createdAt': { $gte: ?0 } }", fields = "{ 'amount': 1 }")
     List<Payment> findPaymentsForRevenue(LocalDateTime startDate);
     
+    @Query(value = "{ 'status': 'COMPLETED', 'processedAt': { $gt: ?0 } }", fields = "{ 'amount': 1 }")
+    List<Payment> findCompletedProcessedAfter(LocalDateTime startDate);
+    
+    @Query(value = "{ 'status': { $in: ['COMPLETED', 'REFUNDED'] } }", fields = "{ 'bookingId': 1, 'amount': 1, 'status': 1, 'createdAt': 1, 'processedAt': 1, 'refundedAt': 1, 'refundedAmount': 1 }")
+    Stream<Payment> streamRevenuePayments();
+    
     @Query(value = "{ 'status': ?0 }", count = true)
     Long countByStatus(Payment.PaymentStatus status);
 }
@@ -0,0 +1,20 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import com.equiptrack.model.Payment;
+
+/**
+ * Custom payment queries that need dynamic criteria
+ */
+public interface PaymentRepositoryCustom {
+
+    /**
+     * Payments created within the optional range and in any of the optional statuses, read
+     * lazily from one cursor. The caller must close the stream.
+     */
+    Stream<Payment> streamForExport(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                    Collection<Payment.PaymentStatus> statuses);
+}
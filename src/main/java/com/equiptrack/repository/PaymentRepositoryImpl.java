@@ -0,0 +1,26 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.equiptrack.model.Payment;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link PaymentRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class PaymentRepositoryImpl implements PaymentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<Payment> streamForExport(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                           Collection<Payment.PaymentStatus> statuses) {
+        return mongoTemplate.stream(ExportQueries.filtered("createdAt", createdFrom, createdTo, statuses), Payment.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.equiptrack.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.equiptrack.model.ReservationLedger;
+
+/**
+ * Atomic single-document writes against the reservation ledger
+ */
+public interface ReservationLedgerRepositoryCustom {
+
+    /**
+     * Adds the reservation to the equipment's ledger only if it overlaps none of the
+     * reservations already there. Returns false when the dates are already claimed.
+     */
+    boolean claim(String equipmentId, ReservationLedger.Reservation reservation);
+
+    void release(String equipmentId, String bookingId);
+
+    /**
+     * Adds any of the given reservations missing from their ledgers, creating ledgers as needed
+     */
+    void addMissing(Map<String, List<ReservationLedger.Reservation>> reservationsByEquipment);
+
+    /**
+     * Removes the given booking IDs from each equipment's ledger
+     */
+    void removeAll(Map<String, ? extends Collection<String>> bookingIdsByEquipment);
+}
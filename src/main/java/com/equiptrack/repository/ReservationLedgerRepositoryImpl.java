@@ -0,0 +1,91 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.equiptrack.model.ReservationLedger;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link ReservationLedgerRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class ReservationLedgerRepositoryImpl implements ReservationLedgerRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean claim(String equipmentId, ReservationLedger.Reservation reservation) {
+        // Matches the ledger only while no existing reservation overlaps the requested days
+        Query query = new Query(Criteria.where("_id").is(equipmentId)
+                .norOperator(Criteria.where("reservations").elemMatch(
+                        Criteria.where("startDay").lte(reservation.getEndDay())
+                                .and("endDay").gte(reservation.getStartDay()))));
+        Update update = new Update()
+                .push("reservations", reservation)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        try {
+            mongoTemplate.upsert(query, update, ReservationLedger.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The ledger exists but did not match: either the days are taken, or a concurrent
+            // request created the ledger first. Retry without upsert to tell the two apart.
+            return mongoTemplate.updateFirst(query, update, ReservationLedger.class).getModifiedCount() == 1;
+        }
+    }
+
+    @Override
+    public void release(String equipmentId, String bookingId) {
+        Query query = new Query(Criteria.where("_id").is(equipmentId));
+        Update update = new Update()
+                .pull("reservations", new Document("bookingId", bookingId))
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        mongoTemplate.updateFirst(query, update, ReservationLedger.class);
+    }
+
+    @Override
+    public void addMissing(Map<String, List<ReservationLedger.Reservation>> reservationsByEquipment) {
+        if (reservationsByEquipment.isEmpty()) {
+            return;
+        }
+        BulkOperations ledgers = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationLedger.class);
+        reservationsByEquipment.keySet().forEach(equipmentId -> ledgers.upsert(
+                new Query(Criteria.where("_id").is(equipmentId)),
+                new Update().setOnInsert("version", 0L)));
+        ledgers.execute();
+
+        BulkOperations pushes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationLedger.class);
+        reservationsByEquipment.forEach((equipmentId, reservations) -> reservations.forEach(r -> pushes.updateOne(
+                new Query(Criteria.where("_id").is(equipmentId).and("reservations.bookingId").ne(r.getBookingId())),
+                new Update().push("reservations", r).inc("version", 1).set("updatedAt", LocalDateTime.now()))));
+        pushes.execute();
+    }
+
+    @Override
+    public void removeAll(Map<String, ? extends Collection<String>> bookingIdsByEquipment) {
+        if (bookingIdsByEquipment.isEmpty()) {
+            return;
+        }
+        BulkOperations pulls = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationLedger.class);
+        bookingIdsByEquipment.forEach((equipmentId, bookingIds) -> pulls.updateOne(
+                new Query(Criteria.where("_id").is(equipmentId)),
+                new Update()
+                        .pull("reservations", new Document("bookingId", new Document("$in", bookingIds)))
+                        .inc("version", 1)
+                        .set("updatedAt", LocalDateTime.now())));
+        pulls.execute();
+    }
+}
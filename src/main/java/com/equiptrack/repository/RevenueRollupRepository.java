@@ -0,0 +1,17 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.equiptrack.model.RevenueRollup;
+
+@Repository
+public interface RevenueRollupRepository extends MongoRepository<RevenueRollup, String>, RevenueRollupRepositoryCustom {
+    
+    List<RevenueRollup> findByGranularityAndDimensionAndDimensionIdAndPeriodStartBetweenOrderByPeriodStart(
+            RevenueRollup.Granularity granularity, RevenueRollup.Dimension dimension, String dimensionId,
+            LocalDate from, LocalDate to);
+}
@@ -0,0 +1,26 @@
+package com.equiptrack.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import com.equiptrack.model.RevenueRollup;
+
+/**
+ * Atomic bucket updates for revenue rollups
+ */
+public interface RevenueRollupRepositoryCustom {
+
+    /**
+     * Adds each delta's revenue, refund and payment count to its bucket with one unordered
+     * bulk of upserting $inc writes
+     */
+    void increment(Collection<RevenueRollup> deltas);
+
+    /**
+     * Overwrites each bucket with the rebuilt totals and stamps it with the rebuild start,
+     * then deletes every bucket the rebuild did not produce. Buckets incremented since the
+     * rebuild started are left alone, since their live totals already include the newer
+     * payments. Returns the number of buckets left alone.
+     */
+    int replaceAll(Collection<RevenueRollup> buckets, LocalDateTime rebuildStartedAt);
+}
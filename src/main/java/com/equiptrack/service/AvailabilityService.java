@@ -0,0 +1,382 @@
+package com.equiptrack.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.repository.BookingRepository;
+import com.equiptrack.repository.EquipmentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory availability index over active (not cancelled, completed or no-show) bookings.
+ * Each equipment has an immutable interval tree keyed on epoch-day, so conflict checks and
+ * next-free-date lookups never touch the database. MongoDB stays the source of truth: the
+ * index is built at startup, updated by BookingService transitions and reconciled periodically.
+ * Every transition also writes the affected equipment's nextAvailableDate and currentBookingId
+ * back to its document, so list pages can render availability from the equipment alone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityService {
+
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final EquipmentCache equipmentCache;
+
+    private final Object writeLock = new Object();
+
+    // Last availabilityVersion handed out; see nextAvailabilityVersion
+    private final AtomicLong availabilityVersion = new AtomicLong();
+
+    private volatile Map<String, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    // Mutations applied while a rebuild is scanning MongoDB, replayed onto the fresh index
+    private List<Booking> rebuildJournal;
+
+    public static boolean isActive(Booking.BookingStatus status) {
+        return status != Booking.BookingStatus.CANCELLED && status != Booking.BookingStatus.COMPLETED
+                && status != Booking.BookingStatus.NO_SHOW;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+        repairEquipmentAvailability();
+    }
+
+    /**
+     * Reconciles the index against MongoDB every 15 minutes
+     */
+    @Scheduled(fixedDelay = 900000, initialDelay = 900000)
+    public void reconcile() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        log.debug("Rebuilding availability index from bookings...");
+        synchronized (writeLock) {
+            rebuildJournal = new ArrayList<>();
+        }
+
+        Map<String, List<Booking>> byEquipment = new HashMap<>();
+        try (Stream<Booking> bookings = bookingRepository.streamActiveBookingIntervals()) {
+            bookings.forEach(b -> {
+                if (b.getEquipmentId() != null && b.getStartDate() != null && b.getEndDate() != null) {
+                    byEquipment.computeIfAbsent(b.getEquipmentId(), k -> new ArrayList<>()).add(b);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error rebuilding availability index", e);
+            synchronized (writeLock) {
+                rebuildJournal = null;
+            }
+            return;
+        }
+
+        Map<String, IntervalTree> fresh = new ConcurrentHashMap<>();
+        byEquipment.forEach((equipmentId, bookings) -> fresh.put(equipmentId, IntervalTree.of(bookings)));
+
+        synchronized (writeLock) {
+            for (Booking b : rebuildJournal) {
+                applyTo(fresh, b);
+            }
+            rebuildJournal = null;
+            trees = fresh;
+            ready = true;
+        }
+        log.info("Availability index rebuilt for {} equipment(s)", fresh.size());
+    }
+
+    /**
+     * Records the current state of a booking: active bookings are (re)indexed,
+     * cancelled or completed ones are removed.
+     */
+    public void apply(Booking booking) {
+        applyAll(List.of(booking));
+    }
+
+    /**
+     * Records the current state of several bookings, then refreshes the stored availability
+     * of their equipment with a single bulk write
+     */
+    public void applyAll(Collection<Booking> bookings) {
+        Set<String> equipmentIds = new HashSet<>();
+        synchronized (writeLock) {
+            for (Booking booking : bookings) {
+                if (booking.getId() == null || booking.getEquipmentId() == null) {
+                    continue;
+                }
+                applyTo(trees, booking);
+                if (rebuildJournal != null) {
+                    rebuildJournal.add(booking);
+                }
+                equipmentIds.add(booking.getEquipmentId());
+            }
+        }
+        saveEquipmentAvailability(equipmentIds);
+    }
+
+    /**
+     * Recomputes nextAvailableDate and currentBookingId of all active equipment from the index.
+     * Runs after startup and just after midnight, when yesterday's values go stale.
+     */
+    @Scheduled(cron = "0 1 0 * * *")
+    public void repairEquipmentAvailability() {
+        if (!ready) {
+            return;
+        }
+        try {
+            List<String> equipmentIds = equipmentRepository.findFleetRows(null, null).stream()
+                    .map(Equipment::getId)
+                    .toList();
+            for (int from = 0; from < equipmentIds.size(); from += REPAIR_BATCH_SIZE) {
+                saveEquipmentAvailability(equipmentIds.subList(from, Math.min(from + REPAIR_BATCH_SIZE, equipmentIds.size())));
+            }
+            log.info("Stored availability repaired for {} equipment(s)", equipmentIds.size());
+        } catch (Exception e) {
+            log.error("Error repairing stored equipment availability", e);
+        }
+    }
+
+    private void saveEquipmentAvailability(Collection<String> equipmentIds) {
+        // Until the index is loaded the repair after the first rebuild catches up
+        if (!ready || equipmentIds.isEmpty()) {
+            return;
+        }
+        // Stamped before the index is read: a computation that sees an older index always
+        // carries a smaller version, so the conditional write drops it if it lands late
+        long version = nextAvailabilityVersion();
+        long today = LocalDate.now().toEpochDay();
+        List<Equipment> rows = new ArrayList<>(equipmentIds.size());
+        for (String equipmentId : equipmentIds) {
+            Equipment row = new Equipment();
+            row.setId(equipmentId);
+            row.setAvailabilityVersion(version);
+            IntervalTree tree = trees.get(equipmentId);
+            if (tree != null) {
+                long next = tree.nextFree(today);
+                row.setNextAvailableDate(next > today ? LocalDate.ofEpochDay(next) : null);
+                row.setCurrentBookingId(tree.coveringBookingId(today));
+            }
+            rows.add(row);
+        }
+        equipmentRepository.bulkSaveAvailability(rows);
+        equipmentCache.invalidateAll(equipmentIds);
+    }
+
+    /**
+     * Strictly increasing on this node and close to wall-clock microseconds, so writes
+     * from different nodes are ordered by when they were computed
+     */
+    private long nextAvailabilityVersion() {
+        long now = System.currentTimeMillis() * 1000;
+        return availabilityVersion.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    public boolean isAvailable(String equipmentId, LocalDate startDate, LocalDate endDate) {
+        IntervalTree tree = trees.get(equipmentId);
+        return tree == null || !tree.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * IDs of all equipment with an active booking overlapping the window. Falls back to a
+     * single scan of the overlapping bookings while the index is still loading.
+     */
+    public Set<String> getBookedEquipmentIds(LocalDate startDate, LocalDate endDate) {
+        Set<String> booked = new HashSet<>();
+        if (ready) {
+            long start = startDate.toEpochDay();
+            long end = endDate.toEpochDay();
+            trees.forEach((equipmentId, tree) -> {
+                if (tree.overlaps(start, end)) {
+                    booked.add(equipmentId);
+                }
+            });
+        } else {
+            try (Stream<Booking> bookings = bookingRepository.streamActiveBookingsOverlapping(startDate, endDate)) {
+                bookings.forEach(b -> booked.add(b.getEquipmentId()));
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * First day on or after {@code from} not covered by any active booking,
+     * following back-to-back bookings through to the end of the chain.
+     */
+    public LocalDate getNextAvailableDate(String equipmentId, LocalDate from) {
+        IntervalTree tree = trees.get(equipmentId);
+        if (tree == null) {
+            return from;
+        }
+        return LocalDate.ofEpochDay(tree.nextFree(from.toEpochDay()));
+    }
+
+    private static void applyTo(Map<String, IntervalTree> target, Booking booking) {
+        String equipmentId = booking.getEquipmentId();
+        IntervalTree current = target.getOrDefault(equipmentId, IntervalTree.EMPTY);
+        IntervalTree updated = current.without(booking.getId());
+        if (isActive(booking.getStatus()) && booking.getStartDate() != null && booking.getEndDate() != null) {
+            updated = updated.with(booking.getId(), booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+        }
+        if (updated.size() == 0) {
+            target.remove(equipmentId);
+        } else {
+            target.put(equipmentId, updated);
+        }
+    }
+
+    /**
+     * Immutable interval tree flattened into arrays sorted by start day. Each node is
+     * augmented with the maximum end day of itself and all earlier intervals, which
+     * answers overlap and next-free queries with a single binary search.
+     */
+    static final class IntervalTree {
+
+        static final IntervalTree EMPTY = new IntervalTree(new String[0], new long[0], new long[0]);
+
+        private final String[] bookingIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private IntervalTree(String[] bookingIds, long[] starts, long[] ends) {
+            this.bookingIds = bookingIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        static IntervalTree of(List<Booking> bookings) {
+            Booking[] sorted = bookings.toArray(new Booking[0]);
+            Arrays.sort(sorted, (a, b) -> a.getStartDate().compareTo(b.getStartDate()));
+            String[] ids = new String[sorted.length];
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getId();
+                starts[i] = sorted[i].getStartDate().toEpochDay();
+                ends[i] = sorted[i].getEndDate().toEpochDay();
+            }
+            return new IntervalTree(ids, starts, ends);
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        IntervalTree with(String bookingId, long start, long end) {
+            int pos = lastStartAtOrBefore(start) + 1;
+            int n = size();
+            String[] ids = new String[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(bookingIds, 0, ids, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            ids[pos] = bookingId;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            System.arraycopy(bookingIds, pos, ids, pos + 1, n - pos);
+            System.arraycopy(starts, pos, newStarts, pos + 1, n - pos);
+            System.arraycopy(ends, pos, newEnds, pos + 1, n - pos);
+            return new IntervalTree(ids, newStarts, newEnds);
+        }
+
+        IntervalTree without(String bookingId) {
+            int n = size();
+            for (int i = 0; i < n; i++) {
+                if (bookingIds[i].equals(bookingId)) {
+                    String[] ids = new String[n - 1];
+                    long[] newStarts = new long[n - 1];
+                    long[] newEnds = new long[n - 1];
+                    System.arraycopy(bookingIds, 0, ids, 0, i);
+                    System.arraycopy(starts, 0, newStarts, 0, i);
+                    System.arraycopy(ends, 0, newEnds, 0, i);
+                    System.arraycopy(bookingIds, i + 1, ids, i, n - i - 1);
+                    System.arraycopy(starts, i + 1, newStarts, i, n - i - 1);
+                    System.arraycopy(ends, i + 1, newEnds, i, n - i - 1);
+                    return new IntervalTree(ids, newStarts, newEnds);
+                }
+            }
+            return this;
+        }
+
+        boolean overlaps(long start, long end) {
+            int idx = lastStartAtOrBefore(end);
+            return idx >= 0 && maxEnds[idx] >= start;
+        }
+
+        /**
+         * ID of a booking covering the day, or null
+         */
+        String coveringBookingId(long day) {
+            for (int i = lastStartAtOrBefore(day); i >= 0 && maxEnds[i] >= day; i--) {
+                if (ends[i] >= day) {
+                    return bookingIds[i];
+                }
+            }
+            return null;
+        }
+
+        long nextFree(long day) {
+            long candidate = day;
+            while (true) {
+                int idx = lastStartAtOrBefore(candidate);
+                if (idx < 0 || maxEnds[idx] < candidate) {
+                    return candidate;
+                }
+                candidate = maxEnds[idx] + 1;
+            }
+        }
+
+        private int lastStartAtOrBefore(long day) {
+            int lo = 0;
+            int hi = starts.length - 1;
+            int result = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= day) {
+                    result = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return result;
+        }
+    }
+}
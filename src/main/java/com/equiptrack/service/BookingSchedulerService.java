@@ -0,0 +1,91 @@
+package com.equiptrack.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.repository.BookingRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled service that moves bookings through their lifecycle without admin clicks:
+ * paid bookings are started on their start date, unpaid ones are marked NO_SHOW after a
+ * grace period and rentals past their end date are completed. Due bookings are streamed
+ * by ID over the (status, date) indexes and transitioned in fixed-size bulk batches, so a
+ * run never holds more than one batch in memory.
+ */
+@Service
+@Slf4j
+public class BookingSchedulerService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final int batchSize;
+    private final int noShowGraceDays;
+
+    public BookingSchedulerService(BookingRepository bookingRepository,
+                                   BookingService bookingService,
+                                   @Value("${app.scheduler.batch-size:500}") int batchSize,
+                                   @Value("${app.scheduler.no-show-grace-days:1}") int noShowGraceDays) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+        this.noShowGraceDays = noShowGraceDays;
+    }
+
+    /**
+     * Runs every hour, at five past
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    public void applyDueTransitions() {
+        log.debug("Running booking lifecycle check...");
+        LocalDate today = LocalDate.now();
+
+        // Returns first so equipment freed today is not left RENTED by a finished rental
+        run("complete", () -> bookingRepository.streamReturnsDueBefore(today), bookingService::bulkCompleteBookings);
+        run("start", () -> bookingRepository.streamPickupsDueBy(today), bookingService::bulkStartBookings);
+        // Paid bookings picked up late may already be past their end date: finish them in this run
+        run("complete", () -> bookingRepository.streamReturnsDueBefore(today), bookingService::bulkCompleteBookings);
+        run("no-show", () -> bookingRepository.streamUnpaidStartingBefore(today.minusDays(noShowGraceDays)),
+                bookingService::bulkMarkNoShow);
+    }
+
+    private void run(String action, Supplier<Stream<Booking>> due,
+                     Function<Collection<String>, BookingService.BulkTransitionResult> transition) {
+        int succeeded = 0;
+        int failed = 0;
+        try (Stream<Booking> bookings = due.get()) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                batch.add(booking.getId());
+                if (batch.size() == batchSize) {
+                    BookingService.BulkTransitionResult result = transition.apply(batch);
+                    succeeded += result.getSucceeded().size();
+                    failed += result.getFailed().size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                BookingService.BulkTransitionResult result = transition.apply(batch);
+                succeeded += result.getSucceeded().size();
+                failed += result.getFailed().size();
+            }
+        } catch (Exception e) {
+            log.error("Error during scheduled booking {}", action, e);
+        }
+
+        if (succeeded > 0 || failed > 0) {
+            log.info("Scheduled booking {}: {} succeeded, {} failed", action, succeeded, failed);
+        }
+    }
+}
@@ -3,19 +3,39 @@ package com.equiptrack.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.equiptrack.model.Booking;
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.GroupTotal;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.User;
 import com.equiptrack.repository.BookingRepository;
 import com.equiptrack.repository.EquipmentRepository;
+import com.equiptrack.repository.KeysetPager;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,14 +47,28 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BookingService {
 
+    private static final String BOOKING_NUMBER_SEQUENCE = "bookingNumber";
+    private static final int MAX_KIT_SIZE = 20;
+
     private final BookingRepository bookingRepository;
     private final EquipmentRepository equipmentRepository;
     private final NotificationService notificationService;
+    private final AvailabilityService availabilityService;
+    private final ReservationLedgerService reservationLedgerService;
+    private final SequenceService sequenceService;
+    private final PricingService pricingService;
+    private final DashboardStatsService dashboardStatsService;
+    private final KeysetPager keysetPager;
+    private final EquipmentCache equipmentCache;
+    private final DeliveryFeeService deliveryFeeService;
 
+    /**
+     * All bookings, newest first, one keyset page at a time
+     */
     @Transactional(readOnly = true)
-    public List<Booking> getAllBookings() {
-        log.info("Fetching all bookings");
-        return bookingRepository.findAll();
+    public KeysetPage<Booking> getBookings(String cursor, Integer size) {
+        log.info("Fetching bookings page after cursor: {}", cursor);
+        return keysetPager.page(Booking.class, new Criteria(), cursor, size, Booking::getCreatedAt, Booking::getId);
     }
 
     @Transactional(readOnly = true)
@@ -50,9 +84,10 @@ public class BookingService {
     }
 
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByCustomer(String customerId) {
-        log.info("Fetching bookings for customer ID: {}", customerId);
-        return bookingRepository.findByCustomerId(customerId);
+    public KeysetPage<Booking> getBookingsByCustomer(String customerId, String cursor, Integer size) {
+        log.info("Fetching bookings page for customer ID: {}", customerId);
+        return keysetPager.page(Booking.class, Criteria.where("customerId").is(customerId), cursor, size,
+                Booking::getCreatedAt, Booking::getId);
     }
 
     @Transactional(readOnly = true)
@@ -67,12 +102,81 @@ public class BookingService {
         return bookingRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
+    public List<Booking> getRecentBookings() {
+        log.info("Fetching 20 most recent bookings");
+        return bookingRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    /**
+     * Total spent per customer ID over confirmed or (partially) paid bookings, grouped in MongoDB
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getSpendByCustomer() {
+        Map<String, BigDecimal> spend = new HashMap<>();
+        for (GroupTotal row : bookingRepository.sumSpendByCustomer()) {
+            spend.put(row.getId(), row.getTotal());
+        }
+        return spend;
+    }
+
+    /**
+     * Number of bookings per equipment ID, grouped in MongoDB
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getBookingCountsByEquipment() {
+        Map<String, Long> counts = new HashMap<>();
+        for (GroupTotal row : bookingRepository.countBookingsByEquipment()) {
+            counts.put(row.getId(), row.getCount());
+        }
+        return counts;
+    }
+
     @Transactional(readOnly = true)
     public List<Booking> getRecentBookingsByCustomer(String customerId) {
         log.info("Fetching recent bookings for customer ID: {}", customerId);
         return bookingRepository.findRecentBookingsByCustomer(customerId);
     }
 
+    /**
+     * Builds the fleet availability matrix for a date window from a single scan of the
+     * active bookings overlapping it, optionally restricted to a category and/or location.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityMatrix getAvailabilityMatrix(LocalDate from, int days, String categoryId, String locationId) {
+        log.info("Building availability matrix from {} for {} days", from, days);
+
+        List<Equipment> fleet = equipmentRepository.findFleetRows(categoryId, locationId);
+        Map<String, BitSet> bookedDays = new HashMap<>(fleet.size() * 2);
+        for (Equipment equipment : fleet) {
+            bookedDays.put(equipment.getId(), new BitSet(days));
+        }
+
+        long fromDay = from.toEpochDay();
+        try (Stream<Booking> bookings = bookingRepository.streamActiveBookingsOverlapping(from, from.plusDays(days - 1L))) {
+            bookings.forEach(b -> {
+                BitSet bits = bookedDays.get(b.getEquipmentId());
+                if (bits == null) {
+                    return;
+                }
+                int start = (int) Math.max(0, b.getStartDate().toEpochDay() - fromDay);
+                int end = (int) Math.min(days - 1L, b.getEndDate().toEpochDay() - fromDay);
+                if (start <= end) {
+                    bits.set(start, end + 1);
+                }
+            });
+        }
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<AvailabilityMatrix.Row> rows = new ArrayList<>(fleet.size());
+        for (Equipment equipment : fleet) {
+            BitSet bits = bookedDays.get(equipment.getId());
+            rows.add(new AvailabilityMatrix.Row(equipment.getId(), equipment.getEquipmentCode(), equipment.getName(),
+                    encoder.encodeToString(bits.toByteArray()), bits.cardinality()));
+        }
+        return new AvailabilityMatrix(from, days, rows);
+    }
+
     @Transactional
     public Booking createBooking(Booking booking, User customer) {
         log.info("Creating new booking for customer: {}", customer.getEmail());
@@ -81,9 +185,13 @@ public class BookingService {
         if (booking.getEquipmentId() == null || booking.getEquipmentId().isEmpty()) {
             throw new RuntimeException("Equipment ID is required");
         }
+        if (booking.getStartDate() == null || booking.getEndDate() == null
+                || booking.getEndDate().isBefore(booking.getStartDate())) {
+            throw new RuntimeException("A valid start and end date is required");
+        }
 
-        // Fetch the full equipment entity to validate and get details
-        Equipment equipment = equipmentRepository.findById(booking.getEquipmentId())
+        // Status and availability decisions need the latest document, not a cached copy
+        Equipment equipment = equipmentCache.getFresh(booking.getEquipmentId())
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
         log.info("Booking equipment: {} by customer: {}", equipment.getName(), customer.getEmail());
@@ -91,6 +199,8 @@ public class BookingService {
         // Set the customer ID
         booking.setCustomerId(customer.getId());
 
+        applyDeliveryFee(booking, equipment);
+
         // Validate equipment availability
         if (!isEquipmentAvailableForDates(booking.getEquipmentId(), 
                                          booking.getStartDate(), 
@@ -110,7 +220,24 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.PENDING);
         booking.setPaymentStatus(Booking.PaymentStatus.UNPAID);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        // Claim the dates on the equipment's reservation ledger. The check above is only a fast
+        // path; this conditional write is what stops concurrent requests double booking.
+        booking.setId(new ObjectId().toHexString());
+        if (!reservationLedgerService.claim(booking)) {
+            throw new RuntimeException("Equipment is not available for the selected dates");
+        }
+
+        Booking savedBooking;
+        try {
+            // Auditing treats entities with an ID as existing, so stamp the creation time here
+            booking.setCreatedAt(LocalDateTime.now());
+            savedBooking = bookingRepository.insert(booking);
+        } catch (RuntimeException e) {
+            reservationLedgerService.release(booking);
+            throw e;
+        }
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordCreated(List.of(savedBooking));
 
         // Don't change equipment status yet - wait for admin approval
         // Equipment remains AVAILABLE until admin approves the booking
@@ -122,6 +249,124 @@ public class BookingService {
         return savedBooking;
     }
 
+    /**
+     * Books several pieces of equipment for the same dates as one kit. Conflicts for all items are
+     * checked together, the bookings are inserted with one bulk write and the whole kit is rejected
+     * if any item is unavailable.
+     */
+    @Transactional
+    public List<Booking> createKitBooking(List<String> equipmentIds, LocalDate startDate, LocalDate endDate,
+                                          String customerNotes, User customer) {
+        log.info("Creating kit booking of {} item(s) for customer: {}",
+                equipmentIds != null ? equipmentIds.size() : 0, customer.getEmail());
+
+        if (equipmentIds == null || equipmentIds.isEmpty()) {
+            throw new RuntimeException("At least one equipment ID is required");
+        }
+        List<String> distinctIds = equipmentIds.stream().distinct().toList();
+        if (distinctIds.size() > MAX_KIT_SIZE) {
+            throw new RuntimeException("A kit can contain at most " + MAX_KIT_SIZE + " items");
+        }
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new RuntimeException("A valid start and end date is required");
+        }
+
+        Map<String, Equipment> equipmentById = new HashMap<>();
+        for (Equipment equipment : equipmentRepository.findAllById(distinctIds)) {
+            equipmentById.put(equipment.getId(), equipment);
+        }
+        for (String equipmentId : distinctIds) {
+            Equipment equipment = equipmentById.get(equipmentId);
+            if (equipment == null || !Boolean.TRUE.equals(equipment.getIsActive())) {
+                throw new RuntimeException("Equipment not found: " + equipmentId);
+            }
+        }
+
+        Set<String> unavailable = findUnavailableEquipmentIds(distinctIds, startDate, endDate);
+        if (!unavailable.isEmpty()) {
+            throw new RuntimeException("Equipment is not available for the selected dates: "
+                    + unavailableNames(unavailable, equipmentById));
+        }
+
+        String kitId = new ObjectId().toHexString();
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(distinctIds.size());
+        for (String equipmentId : distinctIds) {
+            Booking booking = new Booking();
+            booking.setId(new ObjectId().toHexString());
+            booking.setKitId(kitId);
+            booking.setEquipmentId(equipmentId);
+            booking.setCustomerId(customer.getId());
+            booking.setStartDate(startDate);
+            booking.setEndDate(endDate);
+            booking.setCustomerNotes(customerNotes);
+            booking.setBookingNumber(generateBookingNumber());
+            BigDecimal totalAmount = calculateTotalAmount(booking);
+            booking.setTotalAmount(totalAmount);
+            booking.setFinalAmount(totalAmount);
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            booking.setPaymentStatus(Booking.PaymentStatus.UNPAID);
+            // Auditing treats entities with an ID as existing, so stamp the creation time here
+            booking.setCreatedAt(now);
+            bookings.add(booking);
+        }
+
+        // Claim every item on its reservation ledger; give back what was claimed if any claim fails
+        List<Booking> claimed = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            if (!reservationLedgerService.claim(booking)) {
+                claimed.forEach(reservationLedgerService::release);
+                throw new RuntimeException("Equipment is not available for the selected dates: "
+                        + unavailableNames(Set.of(booking.getEquipmentId()), equipmentById));
+            }
+            claimed.add(booking);
+        }
+
+        List<Booking> savedBookings;
+        try {
+            savedBookings = bookingRepository.insert(bookings);
+        } catch (RuntimeException e) {
+            // An ordered insert may have written a prefix of the kit before failing
+            bookingRepository.deleteAllById(bookings.stream().map(Booking::getId).toList());
+            claimed.forEach(reservationLedgerService::release);
+            throw e;
+        }
+        availabilityService.applyAll(savedBookings);
+        dashboardStatsService.recordCreated(savedBookings);
+
+        notificationService.sendKitBookingConfirmationNotification(savedBookings);
+
+        log.info("Kit {} created with {} booking(s)", kitId, savedBookings.size());
+        return savedBookings;
+    }
+
+    /**
+     * Equipment IDs among {@code equipmentIds} with an active booking overlapping the dates,
+     * answered from the availability index or, while it loads, with one query for all items.
+     */
+    private Set<String> findUnavailableEquipmentIds(List<String> equipmentIds, LocalDate startDate, LocalDate endDate) {
+        Set<String> unavailable = new HashSet<>();
+        if (availabilityService.isReady()) {
+            for (String equipmentId : equipmentIds) {
+                if (!availabilityService.isAvailable(equipmentId, startDate, endDate)) {
+                    unavailable.add(equipmentId);
+                }
+            }
+        } else {
+            for (Booking conflict : bookingRepository.findConflictingBookingsForEquipment(equipmentIds, startDate, endDate)) {
+                unavailable.add(conflict.getEquipmentId());
+            }
+        }
+        return unavailable;
+    }
+
+    private static String unavailableNames(Set<String> equipmentIds, Map<String, Equipment> equipmentById) {
+        return equipmentIds.stream()
+                .map(id -> equipmentById.get(id).getName())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
     @Transactional
     public Booking confirmBooking(String id, User confirmedBy) {
         log.info("Confirming booking with ID: {}", id);
@@ -129,6 +374,8 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
 
+        Booking.BookingStatus previousStatus = booking.getStatus();
+        boolean wasPaid = booking.getPaymentStatus() == Booking.PaymentStatus.PAID;
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         // Mark payment as received for manual UPI flow
         booking.setPaymentStatus(Booking.PaymentStatus.PAID);
@@ -136,11 +383,31 @@ public class BookingService {
         booking.setConfirmedById(confirmedBy.getId());
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordStatusChange(savedBooking, previousStatus);
+        if (!wasPaid) {
+            dashboardStatsService.recordBookingPaid(savedBooking);
+        }
         notificationService.sendBookingStatusUpdateNotification(savedBooking);
 
         return savedBooking;
     }
 
+    @Transactional
+    public Booking markBookingPaid(String id) {
+        log.info("Marking booking {} as paid", id);
+
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+        if (booking.getPaymentStatus() == Booking.PaymentStatus.PAID) {
+            return booking;
+        }
+        booking.setPaymentStatus(Booking.PaymentStatus.PAID);
+        Booking savedBooking = bookingRepository.save(booking);
+        dashboardStatsService.recordBookingPaid(savedBooking);
+        return savedBooking;
+    }
+
     /**
      * Approve a pending booking - called by admin to allow customer to proceed with payment
      */
@@ -156,6 +423,7 @@ public class BookingService {
         }
 
         // Change status to CONFIRMED so customer can proceed with payment
+        Booking.BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         booking.setConfirmedAt(LocalDateTime.now());
         booking.setConfirmedById(approvedBy.getId());
@@ -165,8 +433,11 @@ public class BookingService {
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
         equipment.setStatus(Equipment.EquipmentStatus.RENTED);
         equipmentRepository.save(equipment);
+        equipmentCache.invalidate(equipment.getId());
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordStatusChange(savedBooking, previousStatus);
         notificationService.sendBookingStatusUpdateNotification(savedBooking);
 
         log.info("Booking {} approved successfully", booking.getBookingNumber());
@@ -180,6 +451,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
 
+        Booking.BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.IN_PROGRESS);
         booking.setActualPickupTime(LocalDateTime.now());
 
@@ -187,8 +459,12 @@ public class BookingService {
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
         equipment.setStatus(Equipment.EquipmentStatus.RENTED);
         equipmentRepository.save(equipment);
+        equipmentCache.invalidate(equipment.getId());
 
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordStatusChange(savedBooking, previousStatus);
+        return savedBooking;
     }
 
     @Transactional
@@ -198,6 +474,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
 
+        Booking.BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.COMPLETED);
         booking.setActualReturnTime(LocalDateTime.now());
 
@@ -209,8 +486,12 @@ public class BookingService {
         equipment.setLastMaintenanceDate(LocalDateTime.now());
         equipment.setNextMaintenanceDate(LocalDateTime.now().plusDays(1));
         equipmentRepository.save(equipment);
+        equipmentCache.invalidate(equipment.getId());
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordStatusChange(savedBooking, previousStatus);
+        reservationLedgerService.release(savedBooking);
         notificationService.sendBookingCompletedNotification(savedBooking);
         
         log.info("Equipment {} set to MAINTENANCE for 1 day after booking completion", equipment.getEquipmentCode());
@@ -225,6 +506,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
 
+        Booking.BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDateTime.now());
         booking.setCancellationReason(reason);
@@ -236,43 +518,237 @@ public class BookingService {
             equipment.getStatus() == Equipment.EquipmentStatus.RENTED) {
             equipment.setStatus(Equipment.EquipmentStatus.AVAILABLE);
             equipmentRepository.save(equipment);
+            equipmentCache.invalidate(equipment.getId());
         }
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityService.apply(savedBooking);
+        dashboardStatsService.recordStatusChange(savedBooking, previousStatus);
+        reservationLedgerService.release(savedBooking);
         notificationService.sendBookingCancelledNotification(savedBooking);
 
         return savedBooking;
     }
 
+    @Transactional
+    public BulkTransitionResult bulkApproveBookings(Collection<String> ids, User approvedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<Booking> approved = bulkTransition("approve", ids, failed,
+                booking -> booking.getStatus() == Booking.BookingStatus.PENDING,
+                "Only PENDING bookings can be approved",
+                booking -> {
+                    booking.setStatus(Booking.BookingStatus.CONFIRMED);
+                    booking.setConfirmedAt(now);
+                    booking.setConfirmedById(approvedBy.getId());
+                },
+                equipment -> markEquipment(equipment, Equipment.EquipmentStatus.RENTED));
+        notificationService.sendBookingStatusUpdateNotifications(approved);
+        return BulkTransitionResult.of(approved, failed);
+    }
+
+    @Transactional
+    public BulkTransitionResult bulkStartBookings(Collection<String> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<Booking> started = bulkTransition("start", ids, failed,
+                booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED,
+                "Only CONFIRMED bookings can be started",
+                booking -> {
+                    booking.setStatus(Booking.BookingStatus.IN_PROGRESS);
+                    booking.setActualPickupTime(now);
+                },
+                equipment -> markEquipment(equipment, Equipment.EquipmentStatus.RENTED));
+        return BulkTransitionResult.of(started, failed);
+    }
+
+    @Transactional
+    public BulkTransitionResult bulkCompleteBookings(Collection<String> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<Booking> completed = bulkTransition("complete", ids, failed,
+                booking -> booking.getStatus() == Booking.BookingStatus.IN_PROGRESS,
+                "Only IN_PROGRESS bookings can be completed",
+                booking -> {
+                    booking.setStatus(Booking.BookingStatus.COMPLETED);
+                    booking.setActualReturnTime(now);
+                },
+                equipment -> {
+                    // Set equipment to MAINTENANCE for 1 day after return
+                    equipment.setStatus(Equipment.EquipmentStatus.MAINTENANCE);
+                    equipment.setLastMaintenanceDate(now);
+                    equipment.setNextMaintenanceDate(now.plusDays(1));
+                    return true;
+                });
+        reservationLedgerService.releaseAll(completed);
+        notificationService.sendBookingCompletedNotifications(completed);
+        return BulkTransitionResult.of(completed, failed);
+    }
+
+    @Transactional
+    public BulkTransitionResult bulkCancelBookings(Collection<String> ids, String reason, User cancelledBy) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<Booking> cancelled = bulkTransition("cancel", ids, failed,
+                booking -> booking.getStatus() == Booking.BookingStatus.PENDING
+                        || booking.getStatus() == Booking.BookingStatus.CONFIRMED,
+                "Only PENDING or CONFIRMED bookings can be cancelled",
+                booking -> {
+                    booking.setStatus(Booking.BookingStatus.CANCELLED);
+                    booking.setCancelledAt(now);
+                    booking.setCancellationReason(reason);
+                    booking.setCancelledById(cancelledBy.getId());
+                },
+                equipment -> (equipment.getStatus() == Equipment.EquipmentStatus.RESERVED
+                        || equipment.getStatus() == Equipment.EquipmentStatus.RENTED)
+                        && markEquipment(equipment, Equipment.EquipmentStatus.AVAILABLE));
+        reservationLedgerService.releaseAll(cancelled);
+        notificationService.sendBookingCancelledNotifications(cancelled);
+        return BulkTransitionResult.of(cancelled, failed);
+    }
+
+    /**
+     * Marks confirmed bookings whose customer never paid or picked up as NO_SHOW, freeing the equipment
+     */
+    @Transactional
+    public BulkTransitionResult bulkMarkNoShow(Collection<String> ids) {
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<Booking> noShows = bulkTransition("no-show", ids, failed,
+                booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED,
+                "Only CONFIRMED bookings can be marked as no-show",
+                booking -> booking.setStatus(Booking.BookingStatus.NO_SHOW),
+                equipment -> (equipment.getStatus() == Equipment.EquipmentStatus.RESERVED
+                        || equipment.getStatus() == Equipment.EquipmentStatus.RENTED)
+                        && markEquipment(equipment, Equipment.EquipmentStatus.AVAILABLE));
+        reservationLedgerService.releaseAll(noShows);
+        notificationService.sendBookingStatusUpdateNotifications(noShows);
+        return BulkTransitionResult.of(noShows, failed);
+    }
+
+    /**
+     * Shared bulk lifecycle transition: loads all bookings and their equipment with two
+     * findAllById calls, validates and applies the transition in memory, then writes bookings
+     * and equipment with one bulk write each. Bookings that cannot move are recorded in
+     * {@code failed} with a reason; the transitioned bookings are returned.
+     *
+     * @param updateEquipment applied once per affected equipment, returns true if it changed
+     */
+    private List<Booking> bulkTransition(String action, Collection<String> ids, Map<String, String> failed,
+                                         Predicate<Booking> allowed, String notAllowedMessage,
+                                         Consumer<Booking> transition, Predicate<Equipment> updateEquipment) {
+        Set<String> requested = new LinkedHashSet<>(ids);
+        log.info("Bulk {} of {} booking(s)", action, requested.size());
+
+        Map<String, Booking> bookings = new HashMap<>();
+        bookingRepository.findAllById(requested).forEach(b -> bookings.put(b.getId(), b));
+        Set<String> equipmentIds = new HashSet<>();
+        bookings.values().forEach(b -> equipmentIds.add(b.getEquipmentId()));
+        Map<String, Equipment> equipmentById = new HashMap<>();
+        equipmentRepository.findAllById(equipmentIds).forEach(e -> equipmentById.put(e.getId(), e));
+
+        List<Booking> transitioned = new ArrayList<>();
+        Map<String, Booking.BookingStatus> previousStatuses = new HashMap<>();
+        for (String id : requested) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                failed.put(id, "Booking not found");
+            } else if (!allowed.test(booking)) {
+                failed.put(id, notAllowedMessage);
+            } else if (!equipmentById.containsKey(booking.getEquipmentId())) {
+                failed.put(id, "Equipment not found");
+            } else {
+                previousStatuses.put(id, booking.getStatus());
+                transition.accept(booking);
+                transitioned.add(booking);
+            }
+        }
+
+        int matched = bookingRepository.bulkSaveTransitions(transitioned, previousStatuses);
+        if (matched < transitioned.size()) {
+            // Some bookings changed status after they were loaded; keep only the ones we moved
+            Map<String, Booking.BookingStatus> stored = new HashMap<>();
+            bookingRepository.findAllById(previousStatuses.keySet()).forEach(b -> stored.put(b.getId(), b.getStatus()));
+            List<Booking> written = new ArrayList<>();
+            for (Booking booking : transitioned) {
+                if (stored.get(booking.getId()) == booking.getStatus()) {
+                    written.add(booking);
+                } else {
+                    failed.put(booking.getId(), "Booking was modified concurrently");
+                }
+            }
+            transitioned = written;
+        }
+
+        Map<String, Equipment> changedEquipment = new HashMap<>();
+        for (Booking booking : transitioned) {
+            Equipment equipment = equipmentById.remove(booking.getEquipmentId());
+            if (equipment != null && updateEquipment.test(equipment)) {
+                changedEquipment.put(equipment.getId(), equipment);
+            }
+        }
+        equipmentRepository.bulkSaveStatuses(changedEquipment.values());
+        equipmentCache.invalidateAll(changedEquipment.keySet());
+        availabilityService.applyAll(transitioned);
+        dashboardStatsService.recordStatusChanges(transitioned, previousStatuses);
+
+        log.info("Bulk {}: {} succeeded, {} failed", action, transitioned.size(), failed.size());
+        return transitioned;
+    }
+
+    private static boolean markEquipment(Equipment equipment, Equipment.EquipmentStatus status) {
+        if (equipment.getStatus() == status) {
+            return false;
+        }
+        equipment.setStatus(status);
+        return true;
+    }
+
     @Transactional(readOnly = true)
     public boolean isEquipmentAvailableForDates(String equipmentId, LocalDate startDate, LocalDate endDate) {
+        if (availabilityService.isReady()) {
+            return availabilityService.isAvailable(equipmentId, startDate, endDate);
+        }
+        // Index still loading - fall back to the database
         List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
                 equipmentId, startDate, endDate);
         return conflictingBookings.isEmpty();
     }
 
-    public BigDecimal calculateTotalAmount(Booking booking) {
-        Equipment equipment = equipmentRepository.findById(booking.getEquipmentId())
-                .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        long days = ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate()) + 1;
-
-        BigDecimal amount;
-        if (days >= 30 && equipment.getMonthlyRate() != null) {
-            long months = days / 30;
-            long remainingDays = days % 30;
-            amount = equipment.getMonthlyRate().multiply(BigDecimal.valueOf(months))
-                    .add(equipment.getDailyRate().multiply(BigDecimal.valueOf(remainingDays)));
-        } else if (days >= 7 && equipment.getWeeklyRate() != null) {
-            long weeks = days / 7;
-            long remainingDays = days % 7;
-            amount = equipment.getWeeklyRate().multiply(BigDecimal.valueOf(weeks))
-                    .add(equipment.getDailyRate().multiply(BigDecimal.valueOf(remainingDays)));
-        } else {
-            amount = equipment.getDailyRate().multiply(BigDecimal.valueOf(days));
+    /**
+     * Replaces any client-supplied delivery fee with one priced from the equipment's
+     * location to the delivery address's zone, and records where the delivery goes.
+     * Client coordinates are never used for pricing, so a booking cannot claim to be
+     * closer than its address.
+     */
+    private void applyDeliveryFee(Booking booking, Equipment equipment) {
+        if (!Boolean.TRUE.equals(booking.getRequiresDelivery())) {
+            booking.setRequiresDelivery(false);
+            booking.setDeliveryFee(BigDecimal.ZERO);
+            return;
         }
+        if (booking.getDeliveryAddress() == null || booking.getDeliveryAddress().isBlank()) {
+            throw new RuntimeException("A delivery address is required");
+        }
+        DeliveryFeeService.DeliveryQuote quote = deliveryFeeService.quote(equipment.getLocationId(),
+                booking.getDeliveryAddress(), null, null);
+        if (quote.getError() != null) {
+            throw new RuntimeException(quote.getError());
+        }
+        booking.setDeliveryFee(quote.getDeliveryFee());
+        booking.setDeliveryLatitude(quote.getLatitude());
+        booking.setDeliveryLongitude(quote.getLongitude());
+        booking.setDeliveryDistanceKm(quote.getDistanceKm());
+    }
+
+    /**
+     * Prices a booking from the rate table without reloading the equipment
+     */
+    public BigDecimal calculateTotalAmount(Booking booking) {
+        BigDecimal amount = pricingService.rentalAmount(
+                booking.getEquipmentId(), booking.getStartDate(), booking.getEndDate());
 
         // Add delivery fee if required
-        if (booking.getRequiresDelivery() && booking.getDeliveryFee() != null) {
+        if (Boolean.TRUE.equals(booking.getRequiresDelivery()) && booking.getDeliveryFee() != null) {
             amount = amount.add(booking.getDeliveryFee());
         }
 
@@ -280,9 +756,7 @@ public class BookingService {
     }
 
     private String generateBookingNumber() {
-        long count = bookingRepository.count() + 1;
-        String timestamp = String.valueOf(System.currentTimeMillis() % 100000);
-        return String.format("BK%s%05d", timestamp, count);
+        return String.format("BK%08d", sequenceService.next(BOOKING_NUMBER_SEQUENCE));
     }
 
     public Long getBookingCountByStatus(Booking.BookingStatus status) {
@@ -299,15 +773,18 @@ public class BookingService {
 
     /**
      * Computes the next available date for an equipment based on active (non-cancelled / non-completed)
-     * bookings. If currently rented/reserved, availability is endDate + 1 of the latest active booking
-     * overlapping today. Otherwise returns today.
+     * bookings. If currently rented/reserved, availability is the day after the active booking (or chain
+     * of back-to-back bookings) covering today. Otherwise returns today.
      */
     public java.time.LocalDate getNextAvailableDateForEquipment(String equipmentId) {
+        if (availabilityService.isReady()) {
+            return availabilityService.getNextAvailableDate(equipmentId, LocalDate.now());
+        }
         List<Booking> bookings = bookingRepository.findByEquipmentId(equipmentId);
         LocalDate today = LocalDate.now();
         LocalDate candidate = today;
         for (Booking b : bookings) {
-            if (b.getStatus() == Booking.BookingStatus.CANCELLED || b.getStatus() == Booking.BookingStatus.COMPLETED) {
+            if (!AvailabilityService.isActive(b.getStatus())) {
                 continue;
             }
             // If currently within an active booking window
@@ -321,4 +798,41 @@ public class BookingService {
         }
         return candidate;
     }
+
+    /**
+     * Outcome of a bulk transition: IDs that moved and, for the rest, why not
+     */
+    @Data
+    @AllArgsConstructor
+    public static class BulkTransitionResult {
+        private List<String> succeeded;
+        private Map<String, String> failed;
+
+        static BulkTransitionResult of(List<Booking> succeeded, Map<String, String> failed) {
+            return new BulkTransitionResult(succeeded.stream().map(Booking::getId).toList(), failed);
+        }
+    }
+
+    /**
+     * Fleet availability over a date window. Each row's bookedDays is a Base64 bitset where
+     * bit i (little-endian within each byte) marks day from + i as booked; trailing free days
+     * are trimmed, so an empty string means free for the whole window.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class AvailabilityMatrix {
+        private LocalDate from;
+        private int days;
+        private List<Row> rows;
+
+        @Data
+        @AllArgsConstructor
+        public static class Row {
+            private String equipmentId;
+            private String equipmentCode;
+            private String name;
+            private String bookedDays;
+            private int bookedDayCount;
+        }
+    }
 }
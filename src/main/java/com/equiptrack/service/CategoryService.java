@@ -11,7 +11,8 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * Service for managing categories
+ * Service for managing categories. Active categories and lookups by ID are served from the
+ * reference-data snapshot, which every write here republishes.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,13 +21,14 @@ import java.util.Optional;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataService referenceDataService;
 
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
     public List<Category> getAllActiveCategories() {
-        return categoryRepository.findAllActiveOrderedByDisplayOrder();
+        return referenceDataService.getSnapshot().getActiveCategories();
     }
 
     public List<Category> getMainCategories() {
@@ -34,12 +36,14 @@ public class CategoryService {
     }
 
     public Optional<Category> getCategoryById(String id) {
-        return categoryRepository.findById(id);
+        return id != null ? Optional.ofNullable(referenceDataService.getSnapshot().getCategoriesById().get(id)) : Optional.empty();
     }
 
     public Category createCategory(Category category) {
         log.info("Creating new category: {}", category.getName());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataService.reload();
+        return saved;
     }
 
     public Category updateCategory(String id, Category categoryDetails) {
@@ -50,7 +54,9 @@ public class CategoryService {
         category.setDescription(categoryDetails.getDescription());
         category.setIconUrl(categoryDetails.getIconUrl());
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataService.reload();
+        return saved;
     }
 
     public void deleteCategory(String id) {
@@ -59,5 +65,6 @@ public class CategoryService {
         
         category.setIsActive(false);
         categoryRepository.save(category);
+        referenceDataService.reload();
     }
 }
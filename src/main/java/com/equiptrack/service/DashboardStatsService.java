@@ -0,0 +1,140 @@
+package com.equiptrack.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.DashboardStats;
+import com.equiptrack.model.Payment;
+import com.equiptrack.repository.DashboardStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the dashboard counters current. Booking and payment services report each state
+ * change here and it is applied as one atomic $inc, so the admin dashboard reads a single
+ * small document instead of scanning bookings. Counter updates never fail the business
+ * operation; any drift is corrected by the nightly rebuild from source.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardStatsService {
+
+    private static final String TOTAL_BOOKINGS = "totalBookings";
+    private static final String STATUS_COUNT_PREFIX = "bookingStatusCounts.";
+    private static final String PAID_BOOKING_REVENUE = "paidBookingRevenueCents";
+    private static final String COMPLETED_PAYMENT_COUNT = "completedPaymentCount";
+    private static final String COMPLETED_PAYMENT_AMOUNT = "completedPaymentCents";
+    private static final String REFUNDED_PAYMENT_AMOUNT = "refundedPaymentCents";
+    private static final int MAX_REBUILD_ATTEMPTS = 5;
+
+    private final DashboardStatsRepository dashboardStatsRepository;
+
+    public DashboardStats getStats() {
+        return dashboardStatsRepository.findById(DashboardStats.GLOBAL_ID)
+                .orElseGet(this::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!dashboardStatsRepository.existsById(DashboardStats.GLOBAL_ID)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Runs nightly to recompute every counter from the bookings and payments collections.
+     * The result only replaces the document if no increment landed while computing;
+     * otherwise it recomputes, and after a few attempts keeps the live counters.
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    public DashboardStats rebuild() {
+        log.info("Rebuilding dashboard stats from source...");
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            Long version = dashboardStatsRepository.findById(DashboardStats.GLOBAL_ID)
+                    .map(DashboardStats::getVersion)
+                    .orElse(null);
+            DashboardStats stats = dashboardStatsRepository.computeFromSource(DashboardStats.GLOBAL_ID);
+            if (dashboardStatsRepository.replaceIfUnchanged(stats, version)) {
+                log.info("Dashboard stats rebuilt: {} booking(s)", stats.getTotalBookings());
+                return stats;
+            }
+            log.debug("Dashboard stats changed during rebuild attempt {}, retrying", attempt);
+        }
+        log.warn("Dashboard stats kept changing during rebuild; keeping the live counters");
+        return dashboardStatsRepository.findById(DashboardStats.GLOBAL_ID)
+                .orElseGet(() -> dashboardStatsRepository.computeFromSource(DashboardStats.GLOBAL_ID));
+    }
+
+    public void recordCreated(Collection<Booking> bookings) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Booking booking : bookings) {
+            deltas.merge(TOTAL_BOOKINGS, 1L, Long::sum);
+            deltas.merge(STATUS_COUNT_PREFIX + booking.getStatus().name(), 1L, Long::sum);
+        }
+        increment(deltas);
+    }
+
+    public void recordStatusChange(Booking booking, Booking.BookingStatus previousStatus) {
+        recordStatusChanges(List.of(booking), Map.of(booking.getId(), previousStatus));
+    }
+
+    public void recordStatusChanges(Collection<Booking> bookings, Map<String, Booking.BookingStatus> previousStatuses) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Booking booking : bookings) {
+            Booking.BookingStatus previous = previousStatuses.get(booking.getId());
+            if (previous == booking.getStatus()) {
+                continue;
+            }
+            if (previous != null) {
+                deltas.merge(STATUS_COUNT_PREFIX + previous.name(), -1L, Long::sum);
+            }
+            deltas.merge(STATUS_COUNT_PREFIX + booking.getStatus().name(), 1L, Long::sum);
+        }
+        increment(deltas);
+    }
+
+    /**
+     * Called when a booking's paymentStatus moves to PAID
+     */
+    public void recordBookingPaid(Booking booking) {
+        if (booking.getFinalAmount() != null) {
+            increment(Map.of(PAID_BOOKING_REVENUE, PricingService.toCents(booking.getFinalAmount())));
+        }
+    }
+
+    public void recordPaymentCompleted(Payment payment) {
+        long amount = payment.getAmount() != null ? PricingService.toCents(payment.getAmount()) : 0L;
+        increment(Map.of(COMPLETED_PAYMENT_COUNT, 1L, COMPLETED_PAYMENT_AMOUNT, amount));
+    }
+
+    /**
+     * Called when a COMPLETED payment is refunded
+     */
+    public void recordPaymentRefunded(Payment payment) {
+        long amount = payment.getAmount() != null ? PricingService.toCents(payment.getAmount()) : 0L;
+        long refunded = payment.getRefundedAmount() != null ? PricingService.toCents(payment.getRefundedAmount()) : 0L;
+        increment(Map.of(COMPLETED_PAYMENT_COUNT, -1L, COMPLETED_PAYMENT_AMOUNT, -amount,
+                REFUNDED_PAYMENT_AMOUNT, refunded));
+    }
+
+    private void increment(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            dashboardStatsRepository.increment(DashboardStats.GLOBAL_ID, deltas);
+        } catch (Exception e) {
+            log.error("Error updating dashboard stats {}", deltas, e);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.equiptrack.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.DeliveryZone;
+import com.equiptrack.model.Location;
+import com.equiptrack.repository.DeliveryZoneRepository;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices delivery from the distance between an equipment's location and the delivery
+ * address. Addresses are geocoded locally by ZIP code to the centroid of their delivery
+ * zone, and the distance from every delivering location to every zone is precomputed into
+ * a matrix, so a quote is two map lookups and an array read with no external calls. The
+ * fee is the flat amount of the first distance tier that covers the trip plus the zone's
+ * surcharge. The matrix is rebuilt whenever the reference-data snapshot changes and after
+ * each zone write.
+ */
+@Service
+@Slf4j
+public class DeliveryFeeService {
+
+    private static final Pattern ZIP_CODE = Pattern.compile("\\b(\\d{5})(?:-\\d{4})?\\b");
+    private static final int NO_ZONE = -1;
+
+    private final DeliveryZoneRepository deliveryZoneRepository;
+    private final ReferenceDataService referenceDataService;
+    private final double[] tierMaxKm;
+    private final long[] tierFeeCents;
+
+    private volatile DistanceMatrix matrix;
+
+    /**
+     * @param tiers comma-separated maxKm:fee pairs, e.g. "10:500,25:1000"
+     */
+    public DeliveryFeeService(DeliveryZoneRepository deliveryZoneRepository,
+                              ReferenceDataService referenceDataService,
+                              @Value("${app.delivery.tiers:10:500,25:1000,50:1800,100:3000}") String tiers) {
+        this.deliveryZoneRepository = deliveryZoneRepository;
+        this.referenceDataService = referenceDataService;
+
+        String[] pairs = tiers.split(",");
+        double[][] parsed = new double[pairs.length][];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] parts = pairs[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid delivery tier '" + pairs[i] + "', expected maxKm:fee");
+            }
+            parsed[i] = new double[] {Double.parseDouble(parts[0]), PricingService.toCents(new BigDecimal(parts[1]))};
+        }
+        Arrays.sort(parsed, Comparator.comparingDouble(tier -> tier[0]));
+        this.tierMaxKm = new double[parsed.length];
+        this.tierFeeCents = new long[parsed.length];
+        for (int i = 0; i < parsed.length; i++) {
+            tierMaxKm[i] = parsed[i][0];
+            tierFeeCents[i] = (long) parsed[i][1];
+        }
+    }
+
+    /**
+     * Delivery fee from one location. Explicit coordinates win over the address; the
+     * address still supplies the zone surcharge when its ZIP code is in a zone. Bookings
+     * and rental quotes pass only the address, since client coordinates are unverified.
+     */
+    public DeliveryQuote quote(String locationId, String deliveryAddress, Double latitude, Double longitude) {
+        DistanceMatrix current = currentMatrix();
+        Destination destination = resolve(current, deliveryAddress, latitude, longitude);
+        Integer locationIndex = current.locationIndex.get(locationId);
+        if (locationIndex == null) {
+            DeliveryQuote quote = new DeliveryQuote();
+            quote.setLocationId(locationId);
+            quote.setError(undeliverableReason(locationId));
+            return quote;
+        }
+        return quote(current, locationIndex, destination);
+    }
+
+    /**
+     * Delivery fee from every location that delivers, cheapest first
+     */
+    public List<DeliveryQuote> quoteAllLocations(String deliveryAddress, Double latitude, Double longitude) {
+        DistanceMatrix current = currentMatrix();
+        Destination destination = resolve(current, deliveryAddress, latitude, longitude);
+        List<DeliveryQuote> quotes = new ArrayList<>(current.locations.size());
+        for (int i = 0; i < current.locations.size(); i++) {
+            quotes.add(quote(current, i, destination));
+        }
+        quotes.sort(Comparator.comparing(DeliveryQuote::getDeliveryFee, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingDouble(DeliveryQuote::getDistanceKm));
+        return quotes;
+    }
+
+    public List<DeliveryZone> getAllZones() {
+        return deliveryZoneRepository.findAll();
+    }
+
+    public DeliveryZone saveZone(DeliveryZone zone) {
+        if (zone.getCode() == null || zone.getCode().isBlank()) {
+            throw new RuntimeException("Zone code is required");
+        }
+        if (zone.getLatitude() == null || zone.getLongitude() == null) {
+            throw new RuntimeException("Zone latitude and longitude are required");
+        }
+        if (zone.getZipCodes() == null || zone.getZipCodes().stream().allMatch(zip -> zip == null || zip.isBlank())) {
+            throw new RuntimeException("Zone needs at least one ZIP code");
+        }
+        zone.setZipCodes(zone.getZipCodes().stream()
+                .filter(zip -> zip != null && !zip.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList());
+        deliveryZoneRepository.findByCode(zone.getCode())
+                .filter(existing -> !existing.getId().equals(zone.getId()))
+                .ifPresent(existing -> {
+                    throw new RuntimeException("Zone code already exists: " + zone.getCode());
+                });
+        log.info("Saving delivery zone: {}", zone.getCode());
+        DeliveryZone saved = deliveryZoneRepository.save(zone);
+        rebuild(referenceDataService.getSnapshot());
+        return saved;
+    }
+
+    public void deleteZone(String id) {
+        DeliveryZone zone = deliveryZoneRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Delivery zone not found"));
+        zone.setIsActive(false);
+        deliveryZoneRepository.save(zone);
+        rebuild(referenceDataService.getSnapshot());
+    }
+
+    private DeliveryQuote quote(DistanceMatrix current, int locationIndex, Destination destination) {
+        Location location = current.locations.get(locationIndex);
+        DeliveryQuote quote = new DeliveryQuote();
+        quote.setLocationId(location.getId());
+        quote.setLocationName(location.getName());
+        if (destination.error != null) {
+            quote.setError(destination.error);
+            return quote;
+        }
+
+        double distanceKm = destination.exact
+                ? LocationKdTree.distanceKm(location.getLatitude(), location.getLongitude(),
+                        destination.latitude, destination.longitude)
+                : current.distanceKm[locationIndex][destination.zoneIndex];
+        quote.setZoneCode(destination.zoneIndex != NO_ZONE ? current.zones.get(destination.zoneIndex).getCode() : null);
+        quote.setLatitude(destination.latitude);
+        quote.setLongitude(destination.longitude);
+        quote.setDistanceKm(Math.round(distanceKm * 100) / 100.0);
+
+        int tier = 0;
+        while (tier < tierMaxKm.length && distanceKm > tierMaxKm[tier]) {
+            tier++;
+        }
+        if (tier == tierMaxKm.length) {
+            quote.setError(String.format("Delivery address is %.1f km from %s, beyond the %.0f km delivery range",
+                    distanceKm, location.getName(), tierMaxKm[tierMaxKm.length - 1]));
+            return quote;
+        }
+        long surchargeCents = destination.zoneIndex != NO_ZONE ? current.zoneSurchargeCents[destination.zoneIndex] : 0L;
+        quote.setDeliveryFee(PricingService.fromCents(tierFeeCents[tier] + surchargeCents));
+        return quote;
+    }
+
+    private static Destination resolve(DistanceMatrix current, String deliveryAddress, Double latitude, Double longitude) {
+        int zoneIndex = NO_ZONE;
+        if (deliveryAddress != null) {
+            Matcher zip = ZIP_CODE.matcher(deliveryAddress);
+            String lastZip = null;
+            while (zip.find()) {
+                lastZip = zip.group(1);
+            }
+            if (lastZip != null) {
+                zoneIndex = current.zoneIndexByZip.getOrDefault(lastZip, NO_ZONE);
+            }
+        }
+        if (latitude != null && longitude != null) {
+            return new Destination(latitude, longitude, zoneIndex, true, null);
+        }
+        if (zoneIndex == NO_ZONE) {
+            return new Destination(0, 0, NO_ZONE, false, "Delivery is not available to this address's ZIP code");
+        }
+        DeliveryZone zone = current.zones.get(zoneIndex);
+        return new Destination(zone.getLatitude(), zone.getLongitude(), zoneIndex, false, null);
+    }
+
+    private String undeliverableReason(String locationId) {
+        Location location = locationId != null ? referenceDataService.getSnapshot().getLocationsById().get(locationId) : null;
+        if (location == null || !Boolean.TRUE.equals(location.getIsActive())) {
+            return "Equipment location not found";
+        }
+        if (!Boolean.TRUE.equals(location.getSupportsDelivery())) {
+            return location.getName() + " does not offer delivery";
+        }
+        return location.getName() + " has no coordinates for delivery pricing";
+    }
+
+    private DistanceMatrix currentMatrix() {
+        ReferenceDataService.Snapshot snapshot = referenceDataService.getSnapshot();
+        DistanceMatrix current = matrix;
+        if (current != null && current.referenceVersion == snapshot.getVersion()) {
+            return current;
+        }
+        return rebuild(snapshot);
+    }
+
+    /**
+     * Precomputes location-to-zone distances for the active, delivering locations with
+     * coordinates and the active zones
+     */
+    private synchronized DistanceMatrix rebuild(ReferenceDataService.Snapshot snapshot) {
+        List<Location> locations = new ArrayList<>();
+        Map<String, Integer> locationIndex = new HashMap<>();
+        for (Location location : snapshot.getActiveLocations()) {
+            if (Boolean.TRUE.equals(location.getSupportsDelivery())
+                    && location.getLatitude() != null && location.getLongitude() != null) {
+                locationIndex.put(location.getId(), locations.size());
+                locations.add(location);
+            }
+        }
+
+        List<DeliveryZone> zones = new ArrayList<>();
+        Map<String, Integer> zoneIndexByZip = new HashMap<>();
+        for (DeliveryZone zone : deliveryZoneRepository.findByIsActiveTrue()) {
+            if (zone.getLatitude() == null || zone.getLongitude() == null || zone.getZipCodes() == null) {
+                continue;
+            }
+            for (String zipCode : zone.getZipCodes()) {
+                if (zipCode != null) {
+                    zoneIndexByZip.put(zipCode.trim(), zones.size());
+                }
+            }
+            zones.add(zone);
+        }
+        long[] zoneSurchargeCents = new long[zones.size()];
+        for (int z = 0; z < zones.size(); z++) {
+            BigDecimal surcharge = zones.get(z).getSurcharge();
+            zoneSurchargeCents[z] = surcharge != null ? PricingService.toCents(surcharge) : 0L;
+        }
+
+        double[][] distanceKm = new double[locations.size()][zones.size()];
+        for (int l = 0; l < locations.size(); l++) {
+            Location location = locations.get(l);
+            for (int z = 0; z < zones.size(); z++) {
+                DeliveryZone zone = zones.get(z);
+                distanceKm[l][z] = LocationKdTree.distanceKm(location.getLatitude(), location.getLongitude(),
+                        zone.getLatitude(), zone.getLongitude());
+            }
+        }
+
+        DistanceMatrix rebuilt = new DistanceMatrix(snapshot.getVersion(), List.copyOf(locations), Map.copyOf(locationIndex),
+                List.copyOf(zones), Map.copyOf(zoneIndexByZip), zoneSurchargeCents, distanceKm);
+        matrix = rebuilt;
+        log.info("Delivery distance matrix built: {} location(s) x {} zone(s)", locations.size(), zones.size());
+        return rebuilt;
+    }
+
+    private static final class DistanceMatrix {
+        private final long referenceVersion;
+        private final List<Location> locations;
+        private final Map<String, Integer> locationIndex;
+        private final List<DeliveryZone> zones;
+        private final Map<String, Integer> zoneIndexByZip;
+        private final long[] zoneSurchargeCents;
+        private final double[][] distanceKm;
+
+        private DistanceMatrix(long referenceVersion, List<Location> locations, Map<String, Integer> locationIndex,
+                               List<DeliveryZone> zones, Map<String, Integer> zoneIndexByZip,
+                               long[] zoneSurchargeCents, double[][] distanceKm) {
+            this.referenceVersion = referenceVersion;
+            this.locations = locations;
+            this.locationIndex = locationIndex;
+            this.zones = zones;
+            this.zoneIndexByZip = zoneIndexByZip;
+            this.zoneSurchargeCents = zoneSurchargeCents;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    /**
+     * Where a delivery goes: explicit coordinates, or the centroid of the address's zone
+     */
+    private static final class Destination {
+        private final double latitude;
+        private final double longitude;
+        private final int zoneIndex;
+        private final boolean exact;
+        private final String error;
+
+        private Destination(double latitude, double longitude, int zoneIndex, boolean exact, String error) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.zoneIndex = zoneIndex;
+            this.exact = exact;
+            this.error = error;
+        }
+    }
+
+    @Data
+    public static class DeliveryQuote {
+        private String locationId;
+        private String locationName;
+        private String zoneCode;
+        private Double latitude;
+        private Double longitude;
+        private double distanceKm;
+        private BigDecimal deliveryFee;
+        private String error;
+    }
+}
@@ -0,0 +1,129 @@
+package com.equiptrack.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.equiptrack.model.Category;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Location;
+import com.equiptrack.model.User;
+import com.equiptrack.repository.CategoryRepository;
+import com.equiptrack.repository.LocationRepository;
+import com.equiptrack.repository.UserRepository;
+
+/**
+ * Request-scoped, DataLoader-style resolver for entities referenced by ID. Callers hand it
+ * every ID they need up front; it issues one findAllById per entity type for the IDs it has
+ * not seen yet and memoizes the results (including misses) for the rest of the request, so
+ * enriching N bookings costs a constant number of queries instead of N per type. Equipment
+ * goes through the shared {@link EquipmentCache}, so cached entries cost no query at all.
+ */
+@Service
+@RequestScope
+public class EntityResolver {
+
+    private final Loader<Equipment> equipment;
+    private final Loader<Location> locations;
+    private final Loader<Category> categories;
+    private final Loader<User> users;
+
+    public EntityResolver(EquipmentCache equipmentCache,
+                          LocationRepository locationRepository,
+                          CategoryRepository categoryRepository,
+                          UserRepository userRepository) {
+        this.equipment = new Loader<>(equipmentCache::getAll, Equipment::getId);
+        this.locations = new Loader<>(locationRepository::findAllById, Location::getId);
+        this.categories = new Loader<>(categoryRepository::findAllById, Category::getId);
+        this.users = new Loader<>(userRepository::findAllById, User::getId);
+    }
+
+    public Map<String, Equipment> equipment(Collection<String> ids) {
+        return equipment.loadAll(ids);
+    }
+
+    public Optional<Equipment> equipment(String id) {
+        return equipment.load(id);
+    }
+
+    public Map<String, Location> locations(Collection<String> ids) {
+        return locations.loadAll(ids);
+    }
+
+    public Optional<Location> location(String id) {
+        return locations.load(id);
+    }
+
+    public Map<String, Category> categories(Collection<String> ids) {
+        return categories.loadAll(ids);
+    }
+
+    public Optional<Category> category(String id) {
+        return categories.load(id);
+    }
+
+    public Map<String, User> users(Collection<String> ids) {
+        return users.loadAll(ids);
+    }
+
+    public Optional<User> user(String id) {
+        return users.load(id);
+    }
+
+    private static final class Loader<T> {
+
+        private final Function<List<String>, Iterable<T>> findAllById;
+        private final Function<T, String> idOf;
+        private final Map<String, Optional<T>> memo = new HashMap<>();
+
+        private Loader(Function<List<String>, Iterable<T>> findAllById, Function<T, String> idOf) {
+            this.findAllById = findAllById;
+            this.idOf = idOf;
+        }
+
+        Map<String, T> loadAll(Collection<String> ids) {
+            Set<String> wanted = new LinkedHashSet<>();
+            for (String id : ids) {
+                if (id != null) {
+                    wanted.add(id);
+                }
+            }
+            List<String> missing = new ArrayList<>();
+            for (String id : wanted) {
+                if (!memo.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            if (!missing.isEmpty()) {
+                for (T entity : findAllById.apply(missing)) {
+                    memo.put(idOf.apply(entity), Optional.of(entity));
+                }
+                for (String id : missing) {
+                    memo.putIfAbsent(id, Optional.empty());
+                }
+            }
+
+            Map<String, T> result = new HashMap<>();
+            for (String id : wanted) {
+                memo.get(id).ifPresent(entity -> result.put(id, entity));
+            }
+            return result;
+        }
+
+        Optional<T> load(String id) {
+            if (id == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(loadAll(List.of(id)).get(id));
+        }
+    }
+}
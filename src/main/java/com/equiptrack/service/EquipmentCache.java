@@ -0,0 +1,239 @@
+package com.equiptrack.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Equipment;
+import com.equiptrack.repository.EquipmentRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Read-through, in-process cache of equipment documents by ID. Entries expire after a TTL
+ * and the least recently used ones are evicted once the estimated size of all entries
+ * passes the configured budget. Every write path invalidates the IDs it touched; reads
+ * that must see the latest write use {@link #getFresh}, and code that modifies equipment
+ * keeps reading it from the repository. A load that overlaps any invalidation is returned
+ * but not stored, so a document read before a write is never cached after that write's
+ * invalidation. Callers always get their own copy of the document.
+ */
+@Service
+public class EquipmentCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final EquipmentRepository equipmentRepository;
+    private final long ttlMillis;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    /**
+     * Bumped by every invalidation; loads remember it and only store while it is unchanged
+     */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public EquipmentCache(EquipmentRepository equipmentRepository,
+                          @Value("${app.cache.equipment.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${app.cache.equipment.max-bytes:8388608}") long maxBytes) {
+        this.equipmentRepository = equipmentRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxBytes = maxBytes;
+    }
+
+    public Optional<Equipment> get(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Equipment cached = lookup(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copy(cached));
+        }
+        misses.increment();
+        return getFresh(id);
+    }
+
+    /**
+     * Reads straight from MongoDB, bypassing the cache, and stores the result for later reads
+     */
+    public Optional<Equipment> getFresh(String id) {
+        long loadedAt = generation();
+        Optional<Equipment> loaded = equipmentRepository.findById(id);
+        loaded.ifPresent(equipment -> store(copy(equipment), loadedAt));
+        return loaded;
+    }
+
+    /**
+     * Cached equipment for the IDs, loading all misses with one query
+     */
+    public List<Equipment> getAll(Collection<String> ids) {
+        List<Equipment> found = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Equipment cached = lookup(id);
+            if (cached != null) {
+                hits.increment();
+                found.add(copy(cached));
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadedAt = generation();
+            for (Equipment equipment : equipmentRepository.findAllById(missing)) {
+                store(copy(equipment), loadedAt);
+                found.add(equipment);
+            }
+        }
+        return found;
+    }
+
+    public void invalidate(String id) {
+        invalidateAll(List.of(id));
+    }
+
+    public synchronized void invalidateAll(Collection<String> ids) {
+        generation++;
+        for (String id : ids) {
+            Entry removed = entries.remove(id);
+            if (removed != null) {
+                totalBytes -= removed.bytes;
+                invalidations.increment();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations.add(entries.size());
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized CacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new CacheStats(hitCount, missCount, requests == 0 ? 0.0 : (double) hitCount / requests,
+                evictions.sum(), invalidations.sum(), entries.size(), totalBytes, maxBytes, ttlMillis / 1000);
+    }
+
+    private synchronized Equipment lookup(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(id);
+            totalBytes -= entry.bytes;
+            return null;
+        }
+        return entry.equipment;
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void store(Equipment equipment, long loadedAt) {
+        if (generation != loadedAt) {
+            // Invalidated while loading; the copy may predate that write
+            return;
+        }
+        Entry entry = new Entry(equipment, System.currentTimeMillis() + ttlMillis, estimateBytes(equipment));
+        Entry previous = entries.put(equipment.getId(), entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += entry.bytes;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            totalBytes -= evicted.bytes;
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Rough heap footprint: two bytes per character of text plus a fixed per-object overhead
+     */
+    private static int estimateBytes(Equipment equipment) {
+        long chars = length(equipment.getName()) + length(equipment.getDescription()) + length(equipment.getTerms())
+                + length(equipment.getManufacturer()) + length(equipment.getModel()) + length(equipment.getImageUrl())
+                + length(equipment.getEquipmentCode()) + length(equipment.getSerialNumber());
+        if (equipment.getAdditionalImages() != null) {
+            for (String image : equipment.getAdditionalImages()) {
+                chars += length(image);
+            }
+        }
+        if (equipment.getSpecifications() != null) {
+            for (Map.Entry<String, String> spec : equipment.getSpecifications().entrySet()) {
+                chars += length(spec.getKey()) + length(spec.getValue());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static Equipment copy(Equipment source) {
+        Equipment copy = new Equipment();
+        BeanUtils.copyProperties(source, copy);
+        if (source.getAdditionalImages() != null) {
+            copy.setAdditionalImages(new ArrayList<>(source.getAdditionalImages()));
+        }
+        if (source.getSpecifications() != null) {
+            copy.setSpecifications(new HashMap<>(source.getSpecifications()));
+        }
+        return copy;
+    }
+
+    private static final class Entry {
+        private final Equipment equipment;
+        private final long expiresAt;
+        private final int bytes;
+
+        private Entry(Equipment equipment, long expiresAt, int bytes) {
+            this.equipment = equipment;
+            this.expiresAt = expiresAt;
+            this.bytes = bytes;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class CacheStats {
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long evictions;
+        private long invalidations;
+        private int entries;
+        private long estimatedBytes;
+        private long maxBytes;
+        private long ttlSeconds;
+    }
+}
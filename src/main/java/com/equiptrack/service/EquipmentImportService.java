@@ -0,0 +1,638 @@
+package com.equiptrack.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.equiptrack.model.Category;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Location;
+import com.equiptrack.repository.EquipmentRepository;
+import com.equiptrack.repository.EquipmentRepositoryCustom;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk equipment import from CSV (header row, RFC 4180 quoting) or NDJSON (one object per
+ * line). The input is read one record at a time and written in bounded, unordered bulk
+ * inserts, so apart from the set of equipment codes seen (kept to catch duplicates within
+ * the file) memory use depends on the batch size rather than the file size. Categories
+ * and locations are resolved by code (or ID) from the reference-data snapshot. Rows that
+ * fail validation or insertion are reported with their line number; the rest are imported.
+ * CSV columns named "spec.&lt;name&gt;" and the NDJSON "specifications" object become
+ * equipment specifications.
+ */
+@Service
+@Slf4j
+public class EquipmentImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String SPEC_COLUMN_PREFIX = "spec.";
+
+    private final EquipmentRepository equipmentRepository;
+    private final EquipmentService equipmentService;
+    private final ReferenceDataService referenceDataService;
+    private final PricingService pricingService;
+    private final EquipmentSearchService equipmentSearchService;
+    private final EquipmentCache equipmentCache;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public EquipmentImportService(EquipmentRepository equipmentRepository,
+                                  EquipmentService equipmentService,
+                                  ReferenceDataService referenceDataService,
+                                  PricingService pricingService,
+                                  EquipmentSearchService equipmentSearchService,
+                                  EquipmentCache equipmentCache,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.import.batch-size:500}") int batchSize) {
+        this.equipmentRepository = equipmentRepository;
+        this.equipmentService = equipmentService;
+        this.referenceDataService = referenceDataService;
+        this.pricingService = pricingService;
+        this.equipmentSearchService = equipmentSearchService;
+        this.equipmentCache = equipmentCache;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param dryRun validate every row (including duplicate codes) without writing anything
+     */
+    public ImportReport importEquipment(InputStream input, Format format, boolean dryRun) {
+        long started = System.currentTimeMillis();
+        log.info("Importing equipment from {} (dry run: {})", format, dryRun);
+        ImportReport report = new ImportReport();
+        report.setFormat(format);
+        report.setDryRun(dryRun);
+
+        ReferenceDataService.Snapshot referenceData = referenceDataService.getSnapshot();
+        Set<String> codesInFile = new HashSet<>();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Iterator<Row> rows = format == Format.CSV ? new CsvRows(reader) : new NdjsonRows(reader, objectMapper);
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                report.setRowsRead(report.getRowsRead() + 1);
+                try {
+                    Equipment equipment = toEquipment(row, referenceData);
+                    if (equipment.getEquipmentCode() != null && !codesInFile.add(equipment.getEquipmentCode())) {
+                        throw new IllegalArgumentException("Duplicate equipmentCode in file: " + equipment.getEquipmentCode());
+                    }
+                    batch.add(new PendingRow(row.line, equipment));
+                } catch (IllegalArgumentException e) {
+                    report.addError(row.line, row.fields.get("equipmentCode"), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    flush(batch, report, dryRun);
+                    batch.clear();
+                }
+            }
+            flush(batch, report, dryRun);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Could not read import file: " + e.getMessage(), e);
+        }
+
+        report.setMillis(System.currentTimeMillis() - started);
+        log.info("Equipment import finished: {} row(s) read, {} imported, {} failed in {} ms",
+                report.getRowsRead(), report.getImported(), report.getFailed(), report.getMillis());
+        return report;
+    }
+
+    /**
+     * Rejects rows whose code is already taken, then inserts the rest in one bulk write and
+     * publishes them to the rate table, search index and cache
+     */
+    private void flush(List<PendingRow> batch, ImportReport report, boolean dryRun) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> codes = new HashSet<>();
+        batch.forEach(row -> {
+            if (row.equipment.getEquipmentCode() != null) {
+                codes.add(row.equipment.getEquipmentCode());
+            }
+        });
+        Set<String> takenCodes = new HashSet<>();
+        if (!codes.isEmpty()) {
+            equipmentRepository.findCodesIn(codes).forEach(e -> takenCodes.add(e.getEquipmentCode()));
+        }
+
+        List<PendingRow> insertable = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            if (row.equipment.getEquipmentCode() != null && takenCodes.contains(row.equipment.getEquipmentCode())) {
+                report.addError(row.line, row.equipment.getEquipmentCode(), EquipmentRepositoryCustom.DUPLICATE_CODE);
+            } else {
+                insertable.add(row);
+            }
+        }
+        if (dryRun) {
+            report.setImported(report.getImported() + insertable.size());
+            return;
+        }
+
+        // Explicit codes in the generated format must never be generated later
+        equipmentService.reserveEquipmentCodes(codes);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Equipment> equipment = new ArrayList<>(insertable.size());
+        Set<Integer> generated = new HashSet<>();
+        for (PendingRow row : insertable) {
+            Equipment e = row.equipment;
+            e.setId(new ObjectId().toHexString());
+            if (e.getEquipmentCode() == null) {
+                generated.add(equipment.size());
+                e.setEquipmentCode(equipmentService.generateEquipmentCode());
+            }
+            // Auditing treats entities with an ID as existing, so stamp the timestamps here
+            e.setCreatedAt(now);
+            e.setUpdatedAt(now);
+            equipment.add(e);
+        }
+
+        Map<Integer, String> failures = insertAll(equipment, generated);
+        List<Equipment> inserted = new ArrayList<>(equipment.size());
+        List<String> insertedIds = new ArrayList<>(equipment.size());
+        for (int i = 0; i < equipment.size(); i++) {
+            String failure = failures.get(i);
+            if (failure != null) {
+                report.addError(insertable.get(i).line, equipment.get(i).getEquipmentCode(), failure);
+            } else {
+                inserted.add(equipment.get(i));
+                insertedIds.add(equipment.get(i).getId());
+            }
+        }
+        pricingService.refreshAll(inserted);
+        inserted.forEach(equipmentSearchService::index);
+        equipmentCache.invalidateAll(insertedIds);
+        report.setImported(report.getImported() + inserted.size());
+    }
+
+    /**
+     * Inserts the batch; rows whose generated code collided with one assigned explicitly on
+     * another instance get the next code and are inserted again. Returns insertAll's failures.
+     */
+    private Map<Integer, String> insertAll(List<Equipment> equipment, Set<Integer> generated) {
+        Map<Integer, String> failures = new HashMap<>(equipmentRepository.insertAll(equipment));
+        for (int attempt = 1; attempt < EquipmentService.MAX_CODE_ATTEMPTS; attempt++) {
+            List<Integer> retried = new ArrayList<>();
+            failures.forEach((i, failure) -> {
+                if (generated.contains(i) && EquipmentRepositoryCustom.DUPLICATE_CODE.equals(failure)) {
+                    retried.add(i);
+                }
+            });
+            if (retried.isEmpty()) {
+                break;
+            }
+            List<Equipment> retry = new ArrayList<>(retried.size());
+            for (int i : retried) {
+                equipment.get(i).setEquipmentCode(equipmentService.generateEquipmentCode());
+                retry.add(equipment.get(i));
+            }
+            Map<Integer, String> retryFailures = equipmentRepository.insertAll(retry);
+            for (int j = 0; j < retried.size(); j++) {
+                String failure = retryFailures.get(j);
+                if (failure == null) {
+                    failures.remove(retried.get(j));
+                } else {
+                    failures.put(retried.get(j), failure);
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static Equipment toEquipment(Row row, ReferenceDataService.Snapshot referenceData) {
+        if (row.error != null) {
+            throw new IllegalArgumentException(row.error);
+        }
+        Map<String, String> fields = row.fields;
+        Equipment equipment = new Equipment();
+        equipment.setEquipmentCode(text(fields, "equipmentCode"));
+        equipment.setName(required(fields, "name"));
+        equipment.setDescription(text(fields, "description"));
+        equipment.setManufacturer(text(fields, "manufacturer"));
+        equipment.setModel(text(fields, "model"));
+        equipment.setSerialNumber(text(fields, "serialNumber"));
+        equipment.setImageUrl(text(fields, "imageUrl"));
+        equipment.setTerms(text(fields, "terms"));
+
+        Category category = resolve(fields, "category", referenceData.getActiveCategoriesByCode(),
+                referenceData.getActiveCategoriesById());
+        equipment.setCategoryId(category.getId());
+        Location location = resolve(fields, "location", referenceData.getActiveLocationsByCode(),
+                referenceData.getActiveLocationsById());
+        equipment.setLocationId(location.getId());
+
+        BigDecimal dailyRate = amount(fields, "dailyRate");
+        if (dailyRate == null || dailyRate.signum() <= 0) {
+            throw new IllegalArgumentException("dailyRate must be greater than zero");
+        }
+        equipment.setDailyRate(dailyRate);
+        equipment.setWeeklyRate(amount(fields, "weeklyRate"));
+        equipment.setMonthlyRate(amount(fields, "monthlyRate"));
+        equipment.setSecurityDeposit(amount(fields, "securityDeposit"));
+
+        String status = text(fields, "status");
+        if (status != null) {
+            Equipment.EquipmentStatus parsed = enumValue(Equipment.EquipmentStatus.class, "status", status);
+            if (parsed == Equipment.EquipmentStatus.RENTED || parsed == Equipment.EquipmentStatus.RESERVED) {
+                throw new IllegalArgumentException("status " + parsed + " needs a booking and cannot be imported");
+            }
+            equipment.setStatus(parsed);
+        }
+        String condition = text(fields, "condition");
+        if (condition != null) {
+            equipment.setCondition(enumValue(Equipment.EquipmentCondition.class, "condition", condition));
+        }
+
+        Integer year = integer(fields, "yearOfManufacture");
+        equipment.setYearOfManufacture(year);
+        Integer minimumDays = integer(fields, "minimumRentalDays");
+        if (minimumDays != null) {
+            equipment.setMinimumRentalDays(minimumDays);
+        }
+        Integer maximumDays = integer(fields, "maximumRentalDays");
+        if (maximumDays != null) {
+            equipment.setMaximumRentalDays(maximumDays);
+        }
+        if (equipment.getMinimumRentalDays() < 1 || equipment.getMaximumRentalDays() < equipment.getMinimumRentalDays()) {
+            throw new IllegalArgumentException("Rental days must satisfy 1 <= minimumRentalDays <= maximumRentalDays");
+        }
+        String featured = text(fields, "isFeatured");
+        if (featured != null) {
+            equipment.setIsFeatured(Boolean.parseBoolean(featured) || "1".equals(featured) || "yes".equalsIgnoreCase(featured));
+        }
+        equipment.setSpecifications(new HashMap<>(row.specifications));
+        return equipment;
+    }
+
+    /**
+     * Finds the category or location from its "xCode" field, falling back to "xId"
+     */
+    private static <T> T resolve(Map<String, String> fields, String kind, Map<String, T> byCode, Map<String, T> byId) {
+        String code = text(fields, kind + "Code");
+        if (code != null) {
+            T found = byCode.get(ReferenceDataService.Snapshot.codeKey(code));
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown or inactive " + kind + " code: " + code);
+            }
+            return found;
+        }
+        String id = text(fields, kind + "Id");
+        if (id != null) {
+            T found = byId.get(id);
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown or inactive " + kind + " ID: " + id);
+            }
+            return found;
+        }
+        throw new IllegalArgumentException(kind + "Code or " + kind + "Id is required");
+    }
+
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static BigDecimal amount(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal amount = new BigDecimal(value);
+            if (amount.signum() < 0 || amount.scale() > 2) {
+                throw new IllegalArgumentException(name + " must be a non-negative amount with at most 2 decimals");
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a whole number: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + name + ": " + value);
+        }
+    }
+
+    /**
+     * One input record by field name, with the line it started on. Records that could not
+     * be parsed carry an error instead of fields.
+     */
+    static final class Row {
+        final long line;
+        final Map<String, String> fields;
+        final Map<String, String> specifications;
+        final String error;
+
+        private Row(long line, Map<String, String> fields, Map<String, String> specifications, String error) {
+            this.line = line;
+            this.fields = fields;
+            this.specifications = specifications;
+            this.error = error;
+        }
+    }
+
+    private static final class PendingRow {
+        private final long line;
+        private final Equipment equipment;
+
+        private PendingRow(long line, Equipment equipment) {
+            this.line = line;
+            this.equipment = equipment;
+        }
+    }
+
+    /**
+     * Reads CSV records lazily. The first record is the header; a quoted field may contain
+     * commas, doubled quotes and line breaks.
+     */
+    static final class CsvRows implements Iterator<Row> {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long lineNumber;
+        private Row next;
+
+        CsvRows(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            if (columns == null) {
+                this.header = List.of();
+                return;
+            }
+            if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) {
+                columns.set(0, columns.get(0).substring(1));
+            }
+            this.header = columns.stream().map(String::trim).toList();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Row next() {
+            Row current = next;
+            try {
+                advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return current;
+        }
+
+        private void advance() throws IOException {
+            next = null;
+            while (next == null) {
+                long line = lineNumber + 1;
+                List<String> values = readRecord();
+                if (values == null) {
+                    return;
+                }
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                if (values.size() != header.size()) {
+                    next = new Row(line, Map.of(), Map.of(),
+                            "Expected " + header.size() + " columns but found " + values.size());
+                    return;
+                }
+                Map<String, String> fields = new HashMap<>();
+                Map<String, String> specifications = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    String column = header.get(i);
+                    if (column.startsWith(SPEC_COLUMN_PREFIX)) {
+                        if (!values.get(i).isBlank()) {
+                            specifications.put(column.substring(SPEC_COLUMN_PREFIX.length()), values.get(i).trim());
+                        }
+                    } else {
+                        fields.put(column, values.get(i));
+                    }
+                }
+                next = new Row(line, fields, specifications, null);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // Line break inside a quoted field: keep it and continue on the next line
+                    line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    lineNumber++;
+                    value.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    /**
+     * Reads one JSON object per non-blank line
+     */
+    private static final class NdjsonRows implements Iterator<Row> {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long lineNumber;
+        private Row next;
+
+        private NdjsonRows(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Row next() {
+            Row current = next;
+            try {
+                advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return current;
+        }
+
+        private void advance() throws IOException {
+            next = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    next = parse(line);
+                    return;
+                }
+            }
+        }
+
+        private Row parse(String line) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, Map.of(), Map.of(), "Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return new Row(lineNumber, Map.of(), Map.of(), "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            Map<String, String> specifications = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                JsonNode value = field.getValue();
+                if ("specifications".equals(field.getKey()) && value.isObject()) {
+                    value.fields().forEachRemaining(spec -> specifications.put(spec.getKey(), spec.getValue().asText()));
+                } else if (value.isValueNode() && !value.isNull()) {
+                    fields.put(field.getKey(), value.asText());
+                }
+            });
+            return new Row(lineNumber, fields, specifications, null);
+        }
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * The explicit format if given, otherwise the one implied by the file name
+         */
+        public static Format resolve(String format, String fileName) {
+            if (format != null && !format.isBlank()) {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            }
+            String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Cannot tell the import format from '" + fileName + "'; pass csv or ndjson");
+        }
+    }
+
+    @Data
+    public static class ImportReport {
+        private Format format;
+        private boolean dryRun;
+        private long rowsRead;
+        /**
+         * Rows written, or rows that would be written on a dry run
+         */
+        private long imported;
+        private long failed;
+        private List<RowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private long millis;
+
+        void addError(long line, String equipmentCode, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, equipmentCode, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String equipmentCode;
+        private String message;
+    }
+}
@@ -0,0 +1,292 @@
+package com.equiptrack.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentSummary;
+import com.equiptrack.repository.EquipmentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over the text of active equipment, ranked with BM25. Name
+ * matches weigh more than manufacturer and model, which weigh more than description and
+ * specifications. The last query word also matches as a prefix, so "exca" finds
+ * excavators while the user is still typing. Built at startup, kept current by
+ * EquipmentService on create, update and delete, and rebuilt periodically to pick up
+ * equipment written by other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EquipmentSearchService {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MAKE_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+
+    private final EquipmentRepository equipmentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    // Index and remove calls made while a rebuild is scanning MongoDB, replayed onto the
+    // fresh index; an entry without terms is a removal
+    private List<JournalEntry> rebuildJournal;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-ms:300000}", initialDelayString = "${app.search.rebuild-ms:300000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildJournal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try (Stream<Equipment> equipment = equipmentRepository.streamSearchRows()) {
+            equipment.forEach(e -> rebuilt.add(e.getId(), termFrequencies(e)));
+        } catch (Exception e) {
+            log.error("Error rebuilding search index", e);
+            lock.writeLock().lock();
+            try {
+                rebuildJournal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (JournalEntry entry : rebuildJournal) {
+                rebuilt.replace(entry.id, entry.terms);
+            }
+            rebuildJournal = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built: {} equipment(s), {} term(s)", rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    /**
+     * Re-indexes one equipment, or drops it once it is no longer active
+     */
+    public void index(Equipment equipment) {
+        if (equipment.getId() == null) {
+            return;
+        }
+        Map<String, Integer> terms = Boolean.TRUE.equals(equipment.getIsActive()) ? termFrequencies(equipment) : null;
+        replace(equipment.getId(), terms);
+    }
+
+    public void remove(String equipmentId) {
+        replace(equipmentId, null);
+    }
+
+    private void replace(String equipmentId, Map<String, Integer> terms) {
+        lock.writeLock().lock();
+        try {
+            index.replace(equipmentId, terms);
+            if (rebuildJournal != null) {
+                rebuildJournal.add(new JournalEntry(equipmentId, terms));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Matching equipment, best match first
+     */
+    public Page<EquipmentSummary> search(String query, Pageable pageable) {
+        List<ScoredId> ranked = rank(tokenize(query));
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+
+        List<String> ids = new ArrayList<>(to - from);
+        for (ScoredId hit : ranked.subList(from, to)) {
+            ids.add(hit.id);
+        }
+        Map<String, EquipmentSummary> byId = new HashMap<>();
+        equipmentRepository.findSummariesByIdIn(ids).forEach(e -> byId.put(e.getId(), e));
+
+        List<EquipmentSummary> content = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            EquipmentSummary equipment = byId.get(id);
+            if (equipment != null) {
+                content.add(equipment);
+            }
+        }
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    private List<ScoredId> rank(List<String> queryTerms) {
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = index.documents.size();
+            double averageLength = documentCount == 0 ? 0 : (double) index.totalLength / documentCount;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String queryTerm = queryTerms.get(i);
+                Map<String, Map<String, Integer>> matches = i == queryTerms.size() - 1
+                        ? index.postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false)
+                        : index.postings.containsKey(queryTerm)
+                                ? Map.of(queryTerm, index.postings.get(queryTerm)) : Map.of();
+
+                // A document scores on its best expansion of the query term, not on all of them
+                Map<String, Double> best = new HashMap<>();
+                for (Map<String, Integer> posting : matches.values()) {
+                    double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    for (Map.Entry<String, Integer> entry : posting.entrySet()) {
+                        int length = index.documents.get(entry.getKey());
+                        double tf = entry.getValue();
+                        double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                        best.merge(entry.getKey(), score, Math::max);
+                    }
+                }
+                best.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredId> ranked = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> ranked.add(new ScoredId(id, score)));
+        ranked.sort(Comparator.comparingDouble((ScoredId hit) -> hit.score).reversed().thenComparing(hit -> hit.id));
+        return ranked;
+    }
+
+    private static Map<String, Integer> termFrequencies(Equipment equipment) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, equipment.getName(), NAME_WEIGHT);
+        addTerms(terms, equipment.getManufacturer(), MAKE_WEIGHT);
+        addTerms(terms, equipment.getModel(), MAKE_WEIGHT);
+        addTerms(terms, equipment.getEquipmentCode(), TEXT_WEIGHT);
+        addTerms(terms, equipment.getDescription(), TEXT_WEIGHT);
+        if (equipment.getSpecifications() != null) {
+            equipment.getSpecifications().forEach((key, value) -> {
+                addTerms(terms, key, TEXT_WEIGHT);
+                addTerms(terms, value, TEXT_WEIGHT);
+            });
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Postings keyed by term (sorted, for prefix lookups) mapping equipment ID to weighted
+     * term frequency, plus each document's terms and length so it can be removed
+     */
+    private static final class Index {
+        private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+        private final Map<String, Integer> documents = new HashMap<>();
+        private final Map<String, Map<String, Integer>> documentTerms = new HashMap<>();
+        private long totalLength;
+
+        void add(String id, Map<String, Integer> terms) {
+            int length = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(id, term.getValue());
+                length += term.getValue();
+            }
+            documents.put(id, length);
+            documentTerms.put(id, terms);
+            totalLength += length;
+        }
+
+        /**
+         * Drops the document, then re-adds it when terms is not null
+         */
+        void replace(String id, Map<String, Integer> terms) {
+            remove(id);
+            if (terms != null) {
+                add(id, terms);
+            }
+        }
+
+        void remove(String id) {
+            Map<String, Integer> terms = documentTerms.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<String, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= documents.remove(id);
+        }
+    }
+
+    private static final class JournalEntry {
+        private final String id;
+        private final Map<String, Integer> terms;
+
+        private JournalEntry(String id, Map<String, Integer> terms) {
+            this.id = id;
+            this.terms = terms;
+        }
+    }
+
+    private static final class ScoredId {
+        private final String id;
+        private final double score;
+
+        private ScoredId(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
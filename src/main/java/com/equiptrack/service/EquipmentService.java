@@ -1,15 +1,35 @@
 package com.equiptrack.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.equiptrack.model.Equipment;
+import com.equiptrack.model.EquipmentFacets;
+import com.equiptrack.model.EquipmentFilter;
+import com.equiptrack.model.EquipmentSummary;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.repository.EquipmentRepository;
+import com.equiptrack.repository.KeysetPager;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,26 +42,69 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class EquipmentService {
 
+    private static final String EQUIPMENT_CODE_SEQUENCE = "equipmentCode";
+    private static final String EQUIPMENT_CODE_PREFIX = "EQ";
+    static final int MAX_CODE_ATTEMPTS = 3;
+
     private final EquipmentRepository equipmentRepository;
+    private final SequenceService sequenceService;
+    private final AvailabilityService availabilityService;
+    private final PricingService pricingService;
+    private final EquipmentSearchService equipmentSearchService;
+    private final KeysetPager keysetPager;
+    private final EquipmentCache equipmentCache;
+    private final LocationService locationService;
+
+    /**
+     * Starts the equipment code sequence above the highest code already assigned,
+     * including the sample data created at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeEquipmentCodeSequence() {
+        long highest = equipmentRepository.findTopByEquipmentCodeStartingWithOrderByEquipmentCodeDesc(EQUIPMENT_CODE_PREFIX)
+                .map(Equipment::getEquipmentCode)
+                .map(EquipmentService::equipmentCodeNumber)
+                .orElse(0L);
+        sequenceService.ensureAtLeast(EQUIPMENT_CODE_SEQUENCE, Math.max(highest, equipmentRepository.count()));
+    }
 
+    /**
+     * Every equipment in one list, for the admin pages only; API callers page with {@link #getEquipment}
+     */
     public List<Equipment> getAllEquipment() {
         log.info("Fetching all equipment");
         return equipmentRepository.findAll();
     }
 
-    public List<Equipment> getAvailableEquipment() {
+    /**
+     * All equipment, newest first, one keyset page at a time
+     */
+    public KeysetPage<EquipmentSummary> getEquipment(String cursor, Integer size) {
+        log.info("Fetching equipment page after cursor: {}", cursor);
+        return keysetPager.page(Equipment.class, EquipmentSummary.class, EquipmentSummary.FIELD_NAMES, new Criteria(),
+                cursor, size, EquipmentSummary::getCreatedAt, EquipmentSummary::getId);
+    }
+
+    public List<EquipmentSummary> getAvailableEquipment() {
         log.info("Fetching available equipment");
-        return equipmentRepository.findAvailableEquipment();
+        return equipmentRepository.findAvailableSummaries();
     }
 
-    public List<Equipment> getFeaturedEquipment() {
+    public List<EquipmentSummary> getFeaturedEquipment() {
         log.info("Fetching featured equipment");
-        return equipmentRepository.findByIsFeaturedTrue();
+        return equipmentRepository.findFeaturedSummaries();
     }
 
     public Optional<Equipment> getEquipmentById(String id) {
+        return getEquipmentById(id, false);
+    }
+
+    /**
+     * @param consistent bypass the cache and read the latest stored document
+     */
+    public Optional<Equipment> getEquipmentById(String id, boolean consistent) {
         log.info("Fetching equipment with ID: {}", id);
-        return equipmentRepository.findById(id);
+        return consistent ? equipmentCache.getFresh(id) : equipmentCache.get(id);
     }
 
     public Optional<Equipment> getEquipmentByCode(String code) {
@@ -54,24 +117,77 @@ public class EquipmentService {
         return equipmentRepository.findByCategoryId(categoryId);
     }
 
-    public List<Equipment> getAvailableEquipmentByCategory(String categoryId) {
+    public List<EquipmentSummary> getAvailableEquipmentByCategory(String categoryId) {
         log.info("Fetching available equipment for category ID: {}", categoryId);
-        return equipmentRepository.findAvailableEquipmentByCategory(categoryId);
+        return equipmentRepository.findAvailableSummariesByCategory(categoryId);
     }
 
-    public List<Equipment> getEquipmentByLocation(String locationId) {
+    public List<EquipmentSummary> getEquipmentByLocation(String locationId) {
         log.info("Fetching equipment for location ID: {}", locationId);
-        return equipmentRepository.findByLocationId(locationId);
+        return equipmentRepository.findSummariesByLocationId(locationId);
     }
 
-    public List<Equipment> searchEquipment(String keyword) {
+    /**
+     * Available equipment at active locations within the radius of a point, nearest first
+     * and cheapest first within a location. Nearby locations come from the in-memory
+     * spatial index and their equipment from one query, however many locations match.
+     */
+    public List<NearbyEquipment> findAvailableNear(double latitude, double longitude, double radiusKm,
+                                                   String categoryId, int limit) {
+        log.info("Searching available equipment within {} km of ({}, {}), category: {}",
+                radiusKm, latitude, longitude, categoryId);
+        Map<String, LocationKdTree.Hit> nearby = new HashMap<>();
+        for (LocationKdTree.Hit hit : locationService.getLocationsNear(latitude, longitude, radiusKm)) {
+            nearby.put(hit.getLocation().getId(), hit);
+        }
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+
+        List<NearbyEquipment> results = new ArrayList<>();
+        for (EquipmentSummary equipment : equipmentRepository.findAvailableAtLocations(nearby.keySet(), categoryId)) {
+            LocationKdTree.Hit hit = nearby.get(equipment.getLocationId());
+            results.add(new NearbyEquipment(equipment, hit.getLocation().getId(), hit.getLocation().getName(),
+                    Math.round(hit.getDistanceKm() * 100) / 100.0));
+        }
+        results.sort(Comparator.comparingDouble(NearbyEquipment::getDistanceKm)
+                .thenComparing(nearbyEquipment -> nearbyEquipment.getEquipment().getDailyRate(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * Full-text search over the in-memory index, best match first
+     */
+    public Page<EquipmentSummary> searchEquipment(String keyword, Pageable pageable) {
         log.info("Searching equipment with keyword: {}", keyword);
-        return equipmentRepository.searchEquipment(keyword);
+        return equipmentSearchService.search(keyword, pageable);
+    }
+
+    /**
+     * Equipment in the optional category and location that has no active booking overlapping
+     * the window, cheapest first. Booked equipment comes from the in-memory availability index.
+     */
+    public Page<EquipmentSummary> searchAvailableForWindow(String categoryId, String locationId,
+                                                    LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        log.info("Searching equipment available from {} to {} (category: {}, location: {})",
+                startDate, endDate, categoryId, locationId);
+        Set<String> bookedEquipmentIds = availabilityService.getBookedEquipmentIds(startDate, endDate);
+        return equipmentRepository.findAvailableInWindow(categoryId, locationId, bookedEquipmentIds, pageable);
+    }
+
+    /**
+     * Equipment matching any combination of filters, cheapest first, with per-value counts
+     * for each filter from a single aggregation
+     */
+    public EquipmentFacets getFacetedEquipment(EquipmentFilter filter, Pageable pageable) {
+        log.info("Fetching faceted equipment for filter: {}", filter);
+        return equipmentRepository.findFaceted(filter, pageable);
     }
 
-    public List<Equipment> getEquipmentByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+    public List<EquipmentSummary> getEquipmentByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         log.info("Fetching equipment in price range: {} - {}", minPrice, maxPrice);
-        return equipmentRepository.findByPriceRange(minPrice, maxPrice);
+        return equipmentRepository.findSummariesByPriceRange(minPrice, maxPrice);
     }
 
     public List<Equipment> getEquipmentByStatus(Equipment.EquipmentStatus status) {
@@ -83,11 +199,30 @@ public class EquipmentService {
         log.info("Creating new equipment: {}", equipment.getName());
         
         // Generate equipment code if not provided
-        if (equipment.getEquipmentCode() == null || equipment.getEquipmentCode().isEmpty()) {
-            equipment.setEquipmentCode(generateEquipmentCode());
+        boolean generated = equipment.getEquipmentCode() == null || equipment.getEquipmentCode().isEmpty();
+        if (!generated) {
+            reserveEquipmentCodes(List.of(equipment.getEquipmentCode()));
         }
-        
-        return equipmentRepository.save(equipment);
+
+        // A generated code can collide with one assigned explicitly on another instance
+        // before the sequence moved past it, so take the next code and try again
+        Equipment saved = null;
+        for (int attempt = 1; saved == null; attempt++) {
+            if (generated) {
+                equipment.setEquipmentCode(generateEquipmentCode());
+            }
+            try {
+                saved = equipmentRepository.save(equipment);
+            } catch (DuplicateKeyException e) {
+                if (!generated || attempt == MAX_CODE_ATTEMPTS) {
+                    throw new RuntimeException("Equipment code already exists: " + equipment.getEquipmentCode(), e);
+                }
+                log.warn("Generated equipment code {} is already taken, retrying", equipment.getEquipmentCode());
+            }
+        }
+        pricingService.refresh(saved);
+        equipmentSearchService.index(saved);
+        return saved;
     }
 
     public Equipment updateEquipment(String id, Equipment equipmentDetails) {
@@ -107,7 +242,11 @@ public class EquipmentService {
         equipment.setModel(equipmentDetails.getModel());
         equipment.setImageUrl(equipmentDetails.getImageUrl());
         
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        equipmentCache.invalidate(id);
+        pricingService.refresh(saved);
+        equipmentSearchService.index(saved);
+        return saved;
     }
 
     public void updateEquipmentStatus(String id, Equipment.EquipmentStatus status) {
@@ -118,6 +257,7 @@ public class EquipmentService {
         
         equipment.setStatus(status);
         equipmentRepository.save(equipment);
+        equipmentCache.invalidate(id);
     }
 
     public void deleteEquipment(String id) {
@@ -134,6 +274,10 @@ public class EquipmentService {
         equipment.setIsActive(false);
         equipment.setStatus(Equipment.EquipmentStatus.RETIRED);
         equipmentRepository.save(equipment);
+        // Inactive equipment has no rates, so this drops it from the rate table
+        pricingService.refresh(equipment);
+        equipmentCache.invalidate(id);
+        equipmentSearchService.remove(id);
         
         log.info("Equipment {} marked as RETIRED and inactive", equipment.getEquipmentCode());
     }
@@ -142,15 +286,45 @@ public class EquipmentService {
         return equipmentRepository.countByStatus(status);
     }
 
-    private String generateEquipmentCode() {
-        long count = equipmentRepository.count() + 1;
-        return String.format("EQ%06d", count);
+    String generateEquipmentCode() {
+        return String.format(EQUIPMENT_CODE_PREFIX + "%06d", sequenceService.next(EQUIPMENT_CODE_SEQUENCE));
+    }
+
+    /**
+     * Moves the equipment code sequence past the highest of the given codes that are in the
+     * generated format, so codes assigned explicitly (e.g. by an import) are never generated again
+     */
+    void reserveEquipmentCodes(Collection<String> codes) {
+        long highest = codes.stream().mapToLong(EquipmentService::equipmentCodeNumber).max().orElse(0L);
+        if (highest > 0) {
+            sequenceService.ensureAtLeast(EQUIPMENT_CODE_SEQUENCE, highest);
+        }
+    }
+
+    /**
+     * The number of a generated-format code such as EQ000042, or 0 for any other code
+     */
+    private static long equipmentCodeNumber(String code) {
+        if (code == null || !code.startsWith(EQUIPMENT_CODE_PREFIX)) {
+            return 0L;
+        }
+        String digits = code.substring(EQUIPMENT_CODE_PREFIX.length());
+        return digits.matches("\\d{1,18}") ? Long.parseLong(digits) : 0L;
     }
 
     public boolean isEquipmentAvailable(String equipmentId) {
-        Optional<Equipment> equipment = equipmentRepository.findById(equipmentId);
+        Optional<Equipment> equipment = equipmentCache.get(equipmentId);
         return equipment.isPresent() && 
                equipment.get().getStatus() == Equipment.EquipmentStatus.AVAILABLE &&
                equipment.get().getIsActive();
     }
+
+    @Data
+    @AllArgsConstructor
+    public static class NearbyEquipment {
+        private EquipmentSummary equipment;
+        private String locationId;
+        private String locationName;
+        private double distanceKm;
+    }
 }
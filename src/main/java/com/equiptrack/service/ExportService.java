@@ -0,0 +1,272 @@
+package com.equiptrack.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.Category;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Location;
+import com.equiptrack.model.Payment;
+import com.equiptrack.repository.BookingRepository;
+import com.equiptrack.repository.EquipmentRepository;
+import com.equiptrack.repository.PaymentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes bookings, payments and equipment as NDJSON (one JSON document per line) or CSV.
+ * Documents are read from a single Mongo cursor and written to the output as they arrive,
+ * so memory use stays at one cursor batch however many rows are exported. Equipment CSV
+ * uses the same columns as the equipment import, so an export can be imported elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final List<Column<Booking>> BOOKING_COLUMNS = List.of(
+            new Column<>("id", Booking::getId),
+            new Column<>("bookingNumber", Booking::getBookingNumber),
+            new Column<>("customerId", Booking::getCustomerId),
+            new Column<>("equipmentId", Booking::getEquipmentId),
+            new Column<>("kitId", Booking::getKitId),
+            new Column<>("startDate", Booking::getStartDate),
+            new Column<>("endDate", Booking::getEndDate),
+            new Column<>("status", Booking::getStatus),
+            new Column<>("paymentStatus", Booking::getPaymentStatus),
+            new Column<>("totalAmount", Booking::getTotalAmount),
+            new Column<>("discountAmount", Booking::getDiscountAmount),
+            new Column<>("taxAmount", Booking::getTaxAmount),
+            new Column<>("deliveryFee", Booking::getDeliveryFee),
+            new Column<>("securityDeposit", Booking::getSecurityDeposit),
+            new Column<>("finalAmount", Booking::getFinalAmount),
+            new Column<>("requiresDelivery", Booking::getRequiresDelivery),
+            new Column<>("deliveryAddress", Booking::getDeliveryAddress),
+            new Column<>("deliveryDistanceKm", Booking::getDeliveryDistanceKm),
+            new Column<>("actualPickupTime", Booking::getActualPickupTime),
+            new Column<>("actualReturnTime", Booking::getActualReturnTime),
+            new Column<>("confirmedAt", Booking::getConfirmedAt),
+            new Column<>("cancelledAt", Booking::getCancelledAt),
+            new Column<>("cancellationReason", Booking::getCancellationReason),
+            new Column<>("createdAt", Booking::getCreatedAt),
+            new Column<>("updatedAt", Booking::getUpdatedAt));
+
+    private static final List<Column<Payment>> PAYMENT_COLUMNS = List.of(
+            new Column<>("id", Payment::getId),
+            new Column<>("transactionId", Payment::getTransactionId),
+            new Column<>("bookingId", Payment::getBookingId),
+            new Column<>("userId", Payment::getUserId),
+            new Column<>("amount", Payment::getAmount),
+            new Column<>("paymentMethod", Payment::getPaymentMethod),
+            new Column<>("status", Payment::getStatus),
+            new Column<>("type", Payment::getType),
+            new Column<>("description", Payment::getDescription),
+            new Column<>("failureReason", Payment::getFailureReason),
+            new Column<>("createdAt", Payment::getCreatedAt),
+            new Column<>("processedAt", Payment::getProcessedAt),
+            new Column<>("refundedAt", Payment::getRefundedAt),
+            new Column<>("refundedAmount", Payment::getRefundedAmount));
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final ReferenceDataService referenceDataService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Bookings starting within the optional date range, in any of the optional statuses.
+     * Returns the number of rows written.
+     */
+    public long exportBookings(OutputStream out, Format format, LocalDate from, LocalDate to,
+                               Collection<Booking.BookingStatus> statuses) throws IOException {
+        try (Stream<Booking> rows = bookingRepository.streamForExport(from, to, statuses)) {
+            return export("bookings", out, format, rows, BOOKING_COLUMNS);
+        }
+    }
+
+    /**
+     * Payments created within the optional date range, in any of the optional statuses.
+     * Returns the number of rows written.
+     */
+    public long exportPayments(OutputStream out, Format format, LocalDate from, LocalDate to,
+                               Collection<Payment.PaymentStatus> statuses) throws IOException {
+        try (Stream<Payment> rows = paymentRepository.streamForExport(
+                from != null ? from.atStartOfDay() : null, to != null ? to.atTime(LocalTime.MAX) : null, statuses)) {
+            return export("payments", out, format, rows, PAYMENT_COLUMNS);
+        }
+    }
+
+    /**
+     * Equipment created within the optional date range, in any of the optional statuses.
+     * Returns the number of rows written.
+     */
+    public long exportEquipment(OutputStream out, Format format, LocalDate from, LocalDate to,
+                                Collection<Equipment.EquipmentStatus> statuses) throws IOException {
+        try (Stream<Equipment> rows = equipmentRepository.streamForExport(
+                from != null ? from.atStartOfDay() : null, to != null ? to.atTime(LocalTime.MAX) : null, statuses)) {
+            return export("equipment", out, format, rows, equipmentColumns());
+        }
+    }
+
+    private <T> long export(String name, OutputStream out, Format format, Stream<T> rows,
+                            List<Column<T>> columns) throws IOException {
+        long started = System.currentTimeMillis();
+        long count = format == Format.CSV ? writeCsv(out, rows.iterator(), columns) : writeNdjson(out, rows.iterator());
+        log.info("Exported {} {} row(s) as {} in {} ms", count, name, format, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    private long writeNdjson(OutputStream out, Iterator<?> rows) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The response stream belongs to the caller, and lines are separated explicitly
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private static <T> long writeCsv(OutputStream out, Iterator<T> rows, List<Column<T>> columns) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name);
+        }
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, columns.get(i).value.apply(row));
+            }
+            writer.write("\r\n");
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        // Flush rather than close: the response stream belongs to the caller
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * RFC 4180 field: quoted only when it contains a comma, quote or line break
+     */
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * The import's columns; category and location codes come from the reference-data
+     * snapshot taken when the export starts
+     */
+    private List<Column<Equipment>> equipmentColumns() {
+        ReferenceDataService.Snapshot referenceData = referenceDataService.getSnapshot();
+        Map<String, Category> categories = referenceData.getCategoriesById();
+        Map<String, Location> locations = referenceData.getLocationsById();
+        return List.of(
+                new Column<>("id", Equipment::getId),
+                new Column<>("equipmentCode", Equipment::getEquipmentCode),
+                new Column<>("name", Equipment::getName),
+                new Column<>("description", Equipment::getDescription),
+                new Column<>("categoryCode", e -> code(categories.get(e.getCategoryId()), Category::getCode)),
+                new Column<>("categoryId", Equipment::getCategoryId),
+                new Column<>("locationCode", e -> code(locations.get(e.getLocationId()), Location::getCode)),
+                new Column<>("locationId", Equipment::getLocationId),
+                new Column<>("dailyRate", Equipment::getDailyRate),
+                new Column<>("weeklyRate", Equipment::getWeeklyRate),
+                new Column<>("monthlyRate", Equipment::getMonthlyRate),
+                new Column<>("securityDeposit", Equipment::getSecurityDeposit),
+                new Column<>("status", Equipment::getStatus),
+                new Column<>("condition", Equipment::getCondition),
+                new Column<>("manufacturer", Equipment::getManufacturer),
+                new Column<>("model", Equipment::getModel),
+                new Column<>("serialNumber", Equipment::getSerialNumber),
+                new Column<>("yearOfManufacture", Equipment::getYearOfManufacture),
+                new Column<>("minimumRentalDays", Equipment::getMinimumRentalDays),
+                new Column<>("maximumRentalDays", Equipment::getMaximumRentalDays),
+                new Column<>("isActive", Equipment::getIsActive),
+                new Column<>("isFeatured", Equipment::getIsFeatured),
+                new Column<>("imageUrl", Equipment::getImageUrl),
+                new Column<>("terms", Equipment::getTerms),
+                new Column<>("createdAt", Equipment::getCreatedAt),
+                new Column<>("updatedAt", Equipment::getUpdatedAt));
+    }
+
+    private static <T> String code(T entity, Function<T, String> code) {
+        return entity != null ? code.apply(entity) : null;
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format parse(String format) {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        }
+
+        public String getExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Column<T> {
+        private final String name;
+        private final Function<T, Object> value;
+
+        private Column(String name, Function<T, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
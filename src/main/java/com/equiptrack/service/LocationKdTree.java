@@ -0,0 +1,136 @@
+package com.equiptrack.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.equiptrack.model.Location;
+
+import lombok.Getter;
+
+/**
+ * Static 3-d tree over the locations that have coordinates. Each latitude/longitude is
+ * mapped to a point on the unit sphere, where straight-line (chord) distance grows with
+ * great-circle distance, so a radius query prunes whole subtrees with one comparison per
+ * node and needs no special handling at the poles or the antimeridian. Built once per
+ * reference-data snapshot and never modified afterwards.
+ */
+public final class LocationKdTree {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int DIMENSIONS = 3;
+
+    private final Node[] nodes;
+
+    LocationKdTree(List<Location> locations) {
+        List<Node> located = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            if (location.getLatitude() != null && location.getLongitude() != null) {
+                located.add(new Node(location, toUnitVector(location.getLatitude(), location.getLongitude())));
+            }
+        }
+        this.nodes = located.toArray(new Node[0]);
+        build(0, nodes.length, 0);
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Locations within the radius of the point, nearest first
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm) {
+        double[] target = toUnitVector(latitude, longitude);
+        double maxChord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        List<Hit> hits = new ArrayList<>();
+        search(0, nodes.length, 0, target, maxChord * maxChord, hits);
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits;
+    }
+
+    /**
+     * Great-circle distance between two coordinates
+     */
+    public static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        return chordToKm(Math.sqrt(squaredDistance(
+                toUnitVector(fromLatitude, fromLongitude), toUnitVector(toLatitude, toLongitude))));
+    }
+
+    /**
+     * Puts the median of the range on the current axis in the middle slot, smaller points
+     * to its left and larger to its right, then recurses on both halves with the next axis
+     */
+    private void build(int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        Arrays.sort(nodes, from, to, Comparator.comparingDouble(node -> node.point[axis]));
+        int mid = (from + to) >>> 1;
+        int next = (axis + 1) % DIMENSIONS;
+        build(from, mid, next);
+        build(mid + 1, to, next);
+    }
+
+    private void search(int from, int to, int axis, double[] target, double maxChordSquared, List<Hit> hits) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = nodes[mid];
+        double chordSquared = squaredDistance(node.point, target);
+        if (chordSquared <= maxChordSquared) {
+            hits.add(new Hit(node.location, chordToKm(Math.sqrt(chordSquared))));
+        }
+
+        double delta = target[axis] - node.point[axis];
+        boolean crossesSplit = delta * delta <= maxChordSquared;
+        int next = (axis + 1) % DIMENSIONS;
+        if (delta <= 0 || crossesSplit) {
+            search(from, mid, next, target, maxChordSquared, hits);
+        }
+        if (delta >= 0 || crossesSplit) {
+            search(mid + 1, to, next, target, maxChordSquared, hits);
+        }
+    }
+
+    static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    private static final class Node {
+        private final Location location;
+        private final double[] point;
+
+        private Node(Location location, double[] point) {
+            this.location = location;
+            this.point = point;
+        }
+    }
+
+    @Getter
+    public static final class Hit {
+        private final Location location;
+        private final double distanceKm;
+
+        private Hit(Location location, double distanceKm) {
+            this.location = location;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
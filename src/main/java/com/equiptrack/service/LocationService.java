@@ -11,7 +11,8 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * Service for managing locations
+ * Service for managing locations. Active locations and lookups by ID are served from the
+ * reference-data snapshot, which every write here republishes.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,13 +21,14 @@ import java.util.Optional;
 public class LocationService {
 
     private final LocationRepository locationRepository;
+    private final ReferenceDataService referenceDataService;
 
     public List<Location> getAllLocations() {
         return locationRepository.findAll();
     }
 
     public List<Location> getAllActiveLocations() {
-        return locationRepository.findByIsActiveTrue();
+        return referenceDataService.getSnapshot().getActiveLocations();
     }
 
     public List<Location> getPickupLocations() {
@@ -37,13 +39,22 @@ public class LocationService {
         return locationRepository.findDeliveryLocations();
     }
 
+    /**
+     * Active locations within the radius of a point, nearest first
+     */
+    public List<LocationKdTree.Hit> getLocationsNear(double latitude, double longitude, double radiusKm) {
+        return referenceDataService.getSnapshot().getActiveLocationTree().within(latitude, longitude, radiusKm);
+    }
+
     public Optional<Location> getLocationById(String id) {
-        return locationRepository.findById(id);
+        return id != null ? Optional.ofNullable(referenceDataService.getSnapshot().getLocationsById().get(id)) : Optional.empty();
     }
 
     public Location createLocation(Location location) {
         log.info("Creating new location: {}", location.getName());
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        referenceDataService.reload();
+        return saved;
     }
 
     public Location updateLocation(String id, Location locationDetails) {
@@ -56,7 +67,9 @@ public class LocationService {
         location.setState(locationDetails.getState());
         location.setPhoneNumber(locationDetails.getPhoneNumber());
         
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        referenceDataService.reload();
+        return saved;
     }
 
     public void deleteLocation(String id) {
@@ -65,5 +78,6 @@ public class LocationService {
         
         location.setIsActive(false);
         locationRepository.save(location);
+        referenceDataService.reload();
     }
 }
@@ -23,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 public class MaintenanceSchedulerService {
 
     private final EquipmentRepository equipmentRepository;
+    private final EquipmentCache equipmentCache;
 
     /**
      * Runs every hour to check for equipment that has completed maintenance
@@ -50,6 +51,7 @@ public class MaintenanceSchedulerService {
                     
                     equipment.setStatus(Equipment.EquipmentStatus.AVAILABLE);
                     equipmentRepository.save(equipment);
+                    equipmentCache.invalidate(equipment.getId());
                     updatedCount++;
                 }
             }
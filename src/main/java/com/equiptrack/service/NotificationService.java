@@ -1,14 +1,23 @@
 package com.equiptrack.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.equiptrack.model.Booking;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.Notification;
 import com.equiptrack.model.User;
+import com.equiptrack.repository.KeysetPager;
 import com.equiptrack.repository.NotificationRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -25,10 +34,15 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserService userService;
+    private final KeysetPager keysetPager;
 
-    public List<Notification> getNotificationsByUser(String userId) {
+    /**
+     * A user's notifications, newest first, one keyset page at a time
+     */
+    public KeysetPage<Notification> getNotificationsByUser(String userId, String cursor, Integer size) {
         log.info("Fetching notifications for user ID: {}", userId);
-        return notificationRepository.findRecentNotificationsByUser(userId);
+        return keysetPager.page(Notification.class, Criteria.where("userId").is(userId), cursor, size,
+                Notification::getCreatedAt, Notification::getId);
     }
 
     public List<Notification> getUnreadNotificationsByUser(String userId) {
@@ -95,6 +109,31 @@ public class NotificationService {
         );
     }
 
+    public void sendKitBookingConfirmationNotification(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Booking first = bookings.get(0);
+        User customer = userService.getUserById(first.getCustomerId())
+                .orElse(null);
+
+        if (customer == null) {
+            log.warn("Cannot send notification - customer not found for kit: {}", first.getKitId());
+            return;
+        }
+
+        String bookingNumbers = bookings.stream()
+                .map(b -> "#" + b.getBookingNumber())
+                .collect(Collectors.joining(", "));
+        createNotification(
+                customer,
+                Notification.NotificationType.BOOKING_CONFIRMED,
+                "Booking Confirmed",
+                "Your kit booking of " + bookings.size() + " items (" + bookingNumbers + ") has been created successfully.",
+                "/my-bookings"
+        );
+    }
+
     public void sendBookingStatusUpdateNotification(Booking booking) {
         User customer = userService.getUserById(booking.getCustomerId())
                 .orElse(null);
@@ -149,6 +188,55 @@ public class NotificationService {
         );
     }
 
+    public void sendBookingStatusUpdateNotifications(List<Booking> bookings) {
+        sendBookingNotifications(bookings, Notification.NotificationType.BOOKING_CONFIRMED, "Booking Status Updated",
+                booking -> "Your booking #" + booking.getBookingNumber() + " status has been updated to " + booking.getStatus());
+    }
+
+    public void sendBookingCancelledNotifications(List<Booking> bookings) {
+        sendBookingNotifications(bookings, Notification.NotificationType.BOOKING_CANCELLED, "Booking Cancelled",
+                booking -> "Your booking #" + booking.getBookingNumber() + " has been cancelled.");
+    }
+
+    public void sendBookingCompletedNotifications(List<Booking> bookings) {
+        sendBookingNotifications(bookings, Notification.NotificationType.BOOKING_CONFIRMED, "Booking Completed",
+                booking -> "Your booking #" + booking.getBookingNumber() + " has been completed. Thank you!");
+    }
+
+    /**
+     * Batch form of the per-booking notifications: resolves every customer with one query
+     * and writes all notifications with a single saveAll
+     */
+    private void sendBookingNotifications(List<Booking> bookings, Notification.NotificationType type,
+                                          String title, Function<Booking, String> message) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<String> customerIds = new HashSet<>();
+        bookings.forEach(b -> customerIds.add(b.getCustomerId()));
+        Map<String, User> customers = userService.getUsersByIds(customerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            User customer = customers.get(booking.getCustomerId());
+            if (customer == null) {
+                log.warn("Cannot send notification - customer not found for booking: {}", booking.getId());
+                continue;
+            }
+            Notification notification = new Notification();
+            notification.setUserId(customer.getId());
+            notification.setType(type);
+            notification.setTitle(title);
+            notification.setMessage(message.apply(booking));
+            notification.setLink("/my-bookings/" + booking.getId());
+            notification.setIsRead(false);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+        log.info("Created {} '{}' notification(s)", notifications.size(), title);
+    }
+
     public void sendPaymentReceivedNotification(User user, String bookingNumber, String amount) {
         createNotification(
                 user,
@@ -1,16 +1,20 @@
 package com.equiptrack.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.equiptrack.model.Booking;
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.Payment;
+import com.equiptrack.model.RevenueRollup;
+import com.equiptrack.repository.KeysetPager;
 import com.equiptrack.repository.PaymentRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -25,11 +29,20 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class PaymentService {
 
-    private final PaymentRepository paymentRepository;
+    private static final String TRANSACTION_ID_SEQUENCE = "transactionId";
 
-    public List<Payment> getAllPayments() {
-        log.info("Fetching all payments");
-        return paymentRepository.findAll();
+    private final PaymentRepository paymentRepository;
+    private final SequenceService sequenceService;
+    private final DashboardStatsService dashboardStatsService;
+    private final RevenueRollupService revenueRollupService;
+    private final KeysetPager keysetPager;
+
+    /**
+     * All payments, newest first, one keyset page at a time
+     */
+    public KeysetPage<Payment> getPayments(String cursor, Integer size) {
+        log.info("Fetching payments page after cursor: {}", cursor);
+        return keysetPager.page(Payment.class, new Criteria(), cursor, size, Payment::getCreatedAt, Payment::getId);
     }
 
     public Optional<Payment> getPaymentById(String id) {
@@ -87,7 +100,12 @@ public class PaymentService {
             log.error("Payment processing failed: {}", e.getMessage());
         }
 
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        if (savedPayment.getStatus() == Payment.PaymentStatus.COMPLETED) {
+            dashboardStatsService.recordPaymentCompleted(savedPayment);
+            revenueRollupService.recordPayment(savedPayment);
+        }
+        return savedPayment;
     }
 
     public Payment refundPayment(String paymentId, BigDecimal refundAmount) {
@@ -104,7 +122,10 @@ public class PaymentService {
         payment.setRefundedAmount(refundAmount);
         payment.setRefundedAt(LocalDateTime.now());
 
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        dashboardStatsService.recordPaymentRefunded(savedPayment);
+        revenueRollupService.recordRefund(savedPayment);
+        return savedPayment;
     }
 
     public BigDecimal getTotalPaidAmount(String bookingId) {
@@ -115,17 +136,25 @@ public class PaymentService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * Gross amount of completed payments processed after the start time
+     */
     public BigDecimal getTotalRevenueSince(LocalDateTime startDate) {
-        List<Payment> allPayments = paymentRepository.findAll();
-        return allPayments.stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.COMPLETED)
-                .filter(p -> p.getProcessedAt() != null && p.getProcessedAt().isAfter(startDate))
+        return paymentRepository.findCompletedProcessedAfter(startDate).stream()
                 .map(Payment::getAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * Net revenue (after refunds) from the start date through today, summed from the revenue rollups
+     */
+    public BigDecimal getNetRevenueSince(LocalDate startDate) {
+        return revenueRollupService.getRevenue(startDate, LocalDate.now(),
+                RevenueRollup.Dimension.ALL, null).getNetRevenue();
+    }
+
     private String generateTransactionId() {
-        return "TXN" + UUID.randomUUID().toString().substring(0, 18).toUpperCase().replace("-", "");
+        return String.format("TXN%012d", sequenceService.next(TRANSACTION_ID_SEQUENCE));
     }
 
     public boolean isBookingFullyPaid(Booking booking) {
@@ -0,0 +1,268 @@
+package com.equiptrack.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Equipment;
+import com.equiptrack.repository.EquipmentRepository;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices rentals from an in-memory, versioned rate table built from each equipment's
+ * daily, weekly and monthly rates. All arithmetic is done in whole paise (long), so
+ * quoting never touches the database or allocates BigDecimals per day. The table is
+ * built at startup and replaced whenever EquipmentService creates, updates or retires
+ * equipment; a periodic rebuild picks up writes made by other instances. Inactive
+ * equipment has no rates and cannot be quoted. Delivery is priced by DeliveryFeeService from the equipment's location.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingService {
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DAYS_PER_MONTH = 30;
+    private static final long NO_RATE = -1L;
+
+    private final EquipmentRepository equipmentRepository;
+    private final DeliveryFeeService deliveryFeeService;
+
+    private volatile RateTable rateTable = new RateTable(0L, Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.rebuild-ms:300000}", initialDelayString = "${app.pricing.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        Map<String, Rates> rates = new HashMap<>();
+        try (Stream<Equipment> equipment = equipmentRepository.streamRateRows()) {
+            equipment.forEach(e -> {
+                Rates r = Rates.of(e);
+                if (r != null) {
+                    rates.put(e.getId(), r);
+                }
+            });
+        }
+        rateTable = new RateTable(rateTable.version + 1, Map.copyOf(rates));
+        log.info("Rate table v{} built for {} equipment(s)", rateTable.version, rates.size());
+    }
+
+    /**
+     * Publishes the current rates of one equipment as a new table version
+     */
+    public void refresh(Equipment equipment) {
+        refreshAll(List.of(equipment));
+    }
+
+    /**
+     * Publishes the current rates of many equipment as one new table version, so bulk
+     * writes copy the table once rather than once per equipment
+     */
+    public synchronized void refreshAll(Collection<Equipment> equipment) {
+        Map<String, Rates> rates = new HashMap<>(rateTable.rates);
+        for (Equipment e : equipment) {
+            if (e.getId() == null) {
+                continue;
+            }
+            Rates r = Rates.of(e);
+            if (r == null) {
+                rates.remove(e.getId());
+            } else {
+                rates.put(e.getId(), r);
+            }
+        }
+        rateTable = new RateTable(rateTable.version + 1, Map.copyOf(rates));
+    }
+
+    public long getRateTableVersion() {
+        return rateTable.version;
+    }
+
+    /**
+     * Rental amount (excluding delivery) for the inclusive date range
+     */
+    public BigDecimal rentalAmount(String equipmentId, LocalDate startDate, LocalDate endDate) {
+        Rates rates = ratesFor(equipmentId);
+        if (rates == null) {
+            throw new RuntimeException("Equipment not found");
+        }
+        return fromCents(rates.price(rentalDays(startDate, endDate)));
+    }
+
+    /**
+     * Prices every request against a single table version, without reading the database.
+     * Unknown or inactive equipment and invalid date ranges come back as unpriced quotes
+     * carrying an error message.
+     */
+    public List<Quote> quote(List<QuoteRequest> requests) {
+        RateTable table = rateTable;
+        List<Quote> quotes = new ArrayList<>(requests.size());
+        for (QuoteRequest request : requests) {
+            quotes.add(quote(table, request));
+        }
+        return quotes;
+    }
+
+    private Quote quote(RateTable table, QuoteRequest request) {
+        Quote quote = new Quote();
+        quote.setEquipmentId(request.getEquipmentId());
+        quote.setStartDate(request.getStartDate());
+        quote.setEndDate(request.getEndDate());
+        quote.setRateVersion(table.version);
+
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            quote.setError("End date must be on or after start date");
+            return quote;
+        }
+        Rates rates = request.getEquipmentId() != null ? table.rates.get(request.getEquipmentId()) : null;
+        if (rates == null) {
+            quote.setError("Equipment not found");
+            return quote;
+        }
+
+        long days = rentalDays(request.getStartDate(), request.getEndDate());
+        long rentalCents = rates.price(days);
+        long deliveryCents = 0L;
+        if (Boolean.TRUE.equals(request.getRequiresDelivery())) {
+            DeliveryFeeService.DeliveryQuote delivery = deliveryFeeService.quote(rates.locationId,
+                    request.getDeliveryAddress(), null, null);
+            if (delivery.getError() != null) {
+                quote.setError(delivery.getError());
+                return quote;
+            }
+            deliveryCents = toCents(delivery.getDeliveryFee());
+            quote.setDeliveryDistanceKm(delivery.getDistanceKm());
+        }
+
+        quote.setDays(days);
+        quote.setDailyRate(fromCents(rates.dailyCents));
+        quote.setRentalAmount(fromCents(rentalCents));
+        quote.setDeliveryFee(fromCents(deliveryCents));
+        quote.setTotalAmount(fromCents(rentalCents + deliveryCents));
+        return quote;
+    }
+
+    /**
+     * Looks up rates in the table, loading equipment created outside EquipmentService
+     * (e.g. by another instance since the last rebuild) on a miss. Only equipment that
+     * has rates is published; a miss on inactive equipment leaves the table untouched.
+     */
+    private Rates ratesFor(String equipmentId) {
+        Rates rates = rateTable.rates.get(equipmentId);
+        if (rates != null) {
+            return rates;
+        }
+        Equipment equipment = equipmentRepository.findById(equipmentId).orElse(null);
+        rates = equipment != null ? Rates.of(equipment) : null;
+        if (rates != null) {
+            refresh(equipment);
+        }
+        return rates;
+    }
+
+    private static long rentalDays(LocalDate startDate, LocalDate endDate) {
+        return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static final class RateTable {
+        private final long version;
+        private final Map<String, Rates> rates;
+
+        private RateTable(long version, Map<String, Rates> rates) {
+            this.version = version;
+            this.rates = rates;
+        }
+    }
+
+    /**
+     * Rates of one equipment in paise; weekly and monthly are {@link #NO_RATE} when unset.
+     * Carries the location so delivery can be priced without loading the equipment.
+     */
+    private static final class Rates {
+        private final long dailyCents;
+        private final long weeklyCents;
+        private final long monthlyCents;
+        private final String locationId;
+
+        private Rates(long dailyCents, long weeklyCents, long monthlyCents, String locationId) {
+            this.dailyCents = dailyCents;
+            this.weeklyCents = weeklyCents;
+            this.monthlyCents = monthlyCents;
+            this.locationId = locationId;
+        }
+
+        static Rates of(Equipment equipment) {
+            if (equipment.getDailyRate() == null || Boolean.FALSE.equals(equipment.getIsActive())) {
+                return null;
+            }
+            return new Rates(toCents(equipment.getDailyRate()),
+                    equipment.getWeeklyRate() != null ? toCents(equipment.getWeeklyRate()) : NO_RATE,
+                    equipment.getMonthlyRate() != null ? toCents(equipment.getMonthlyRate()) : NO_RATE,
+                    equipment.getLocationId());
+        }
+
+        /**
+         * Monthly rate for 30+ days, else weekly rate for 7+ days, with leftover days at the daily rate
+         */
+        long price(long days) {
+            if (days >= DAYS_PER_MONTH && monthlyCents != NO_RATE) {
+                return monthlyCents * (days / DAYS_PER_MONTH) + dailyCents * (days % DAYS_PER_MONTH);
+            }
+            if (days >= DAYS_PER_WEEK && weeklyCents != NO_RATE) {
+                return weeklyCents * (days / DAYS_PER_WEEK) + dailyCents * (days % DAYS_PER_WEEK);
+            }
+            return dailyCents * days;
+        }
+    }
+
+    @Data
+    public static class QuoteRequest {
+        private String equipmentId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Boolean requiresDelivery = false;
+        private String deliveryAddress;
+    }
+
+    @Data
+    public static class Quote {
+        private String equipmentId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private long days;
+        private BigDecimal dailyRate;
+        private BigDecimal rentalAmount;
+        private BigDecimal deliveryFee;
+        private Double deliveryDistanceKm;
+        private BigDecimal totalAmount;
+        private long rateVersion;
+        private String error;
+    }
+}
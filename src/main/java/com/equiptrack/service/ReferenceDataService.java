@@ -0,0 +1,133 @@
+package com.equiptrack.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Category;
+import com.equiptrack.model.Location;
+import com.equiptrack.repository.CategoryRepository;
+import com.equiptrack.repository.LocationRepository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Categories and locations held as one immutable, versioned snapshot: ordered lists of the
+ * active ones, ID and code maps, and a spatial index of active locations, built once and
+ * shared by every request. CategoryService and LocationService publish a new snapshot
+ * after each write; a periodic reload picks up changes made by other nodes. Readers never
+ * lock and never see a half-built snapshot. The entities inside are shared, so callers
+ * must treat them as read-only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataService {
+
+    private final CategoryRepository categoryRepository;
+    private final LocationRepository locationRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Rebuilds the snapshot from MongoDB and swaps it in
+     */
+    @Scheduled(fixedDelayString = "${app.reference-data.reload-ms:300000}", initialDelayString = "${app.reference-data.reload-ms:300000}")
+    public synchronized Snapshot reload() {
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(previous != null ? previous.version + 1 : 1,
+                categoryRepository.findAll(), locationRepository.findAll());
+        snapshot.set(next);
+        log.debug("Reference data snapshot v{}: {} categories, {} locations",
+                next.version, next.categoriesById.size(), next.locationsById.size());
+        return next;
+    }
+
+    @Getter
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<Category> activeCategories;
+        private final Map<String, Category> activeCategoriesById;
+        private final Map<String, Category> categoriesById;
+        private final Map<String, Category> activeCategoriesByCode;
+        private final List<Location> activeLocations;
+        private final Map<String, Location> activeLocationsById;
+        private final Map<String, Location> locationsById;
+        private final Map<String, Location> activeLocationsByCode;
+        private final LocationKdTree activeLocationTree;
+
+        private Snapshot(long version, List<Category> categories, List<Location> locations) {
+            this.version = version;
+
+            List<Category> active = new ArrayList<>();
+            Map<String, Category> byId = new HashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                if (Boolean.TRUE.equals(category.getIsActive())) {
+                    active.add(category);
+                }
+            }
+            active.sort(Comparator.comparing(Category::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+            this.activeCategories = List.copyOf(active);
+            this.activeCategoriesById = indexById(this.activeCategories, Category::getId);
+            this.categoriesById = Map.copyOf(byId);
+            this.activeCategoriesByCode = indexByCode(this.activeCategories, Category::getCode);
+
+            List<Location> activeLocations = new ArrayList<>();
+            Map<String, Location> locationsById = new HashMap<>();
+            for (Location location : locations) {
+                locationsById.put(location.getId(), location);
+                if (Boolean.TRUE.equals(location.getIsActive())) {
+                    activeLocations.add(location);
+                }
+            }
+            this.activeLocations = List.copyOf(activeLocations);
+            this.activeLocationsById = indexById(this.activeLocations, Location::getId);
+            this.locationsById = Map.copyOf(locationsById);
+            this.activeLocationsByCode = indexByCode(this.activeLocations, Location::getCode);
+            this.activeLocationTree = new LocationKdTree(this.activeLocations);
+        }
+
+        private static <T> Map<String, T> indexById(List<T> items, Function<T, String> idOf) {
+            Map<String, T> byId = new HashMap<>();
+            for (T item : items) {
+                byId.put(idOf.apply(item), item);
+            }
+            return Map.copyOf(byId);
+        }
+
+        /**
+         * Keys are upper-cased codes; look them up with {@link #codeKey}
+         */
+        private static <T> Map<String, T> indexByCode(List<T> items, Function<T, String> codeOf) {
+            Map<String, T> byCode = new HashMap<>();
+            for (T item : items) {
+                String code = codeOf.apply(item);
+                if (code != null && !code.isBlank()) {
+                    byCode.put(codeKey(code), item);
+                }
+            }
+            return Map.copyOf(byCode);
+        }
+
+        public static String codeKey(String code) {
+            return code.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+}
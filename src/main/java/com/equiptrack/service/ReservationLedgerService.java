@@ -0,0 +1,132 @@
+package com.equiptrack.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.ReservationLedger;
+import com.equiptrack.repository.BookingRepository;
+import com.equiptrack.repository.ReservationLedgerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards against double booking with a per-equipment reservation ledger. A claim is a single
+ * conditional write on the ledger document, so concurrent requests for overlapping dates fail
+ * fast without global locks or multi-document transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationLedgerService {
+
+    // Claims younger than this may belong to bookings still being saved and are never pruned
+    private static final long PRUNE_GRACE_MINUTES = 10;
+
+    private final ReservationLedgerRepository reservationLedgerRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Claims the booking's dates on its equipment's ledger. The booking must already have an ID.
+     * Returns false if another active booking holds any of the days.
+     */
+    public boolean claim(Booking booking) {
+        ReservationLedger.Reservation reservation = new ReservationLedger.Reservation(
+                booking.getId(),
+                booking.getStartDate().toEpochDay(),
+                booking.getEndDate().toEpochDay(),
+                LocalDateTime.now());
+        boolean claimed = reservationLedgerRepository.claim(booking.getEquipmentId(), reservation);
+        if (!claimed) {
+            log.info("Reservation claim rejected for equipment {} from {} to {}",
+                    booking.getEquipmentId(), booking.getStartDate(), booking.getEndDate());
+        }
+        return claimed;
+    }
+
+    public void release(Booking booking) {
+        reservationLedgerRepository.release(booking.getEquipmentId(), booking.getId());
+    }
+
+    /**
+     * Releases many bookings with one bulk write across their ledgers
+     */
+    public void releaseAll(List<Booking> bookings) {
+        Map<String, List<String>> bookingIdsByEquipment = new HashMap<>();
+        for (Booking booking : bookings) {
+            bookingIdsByEquipment.computeIfAbsent(booking.getEquipmentId(), k -> new ArrayList<>()).add(booking.getId());
+        }
+        reservationLedgerRepository.removeAll(bookingIdsByEquipment);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Runs every hour to bring the ledgers in line with the bookings collection: active
+     * bookings missing from a ledger are added and stale reservations are removed. Bookings
+     * that ended while the active set was being read are taken out again straight away,
+     * since their release may already have run before they were re-added.
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 3600000)
+    public void reconcile() {
+        log.debug("Reconciling reservation ledgers...");
+
+        try {
+            Map<String, List<ReservationLedger.Reservation>> activeByEquipment = new HashMap<>();
+            Set<String> activeBookingIds = new HashSet<>();
+            LocalDateTime now = LocalDateTime.now();
+            try (Stream<Booking> bookings = bookingRepository.streamActiveBookingIntervals()) {
+                bookings.forEach(b -> {
+                    if (b.getEquipmentId() == null || b.getStartDate() == null || b.getEndDate() == null) {
+                        return;
+                    }
+                    activeBookingIds.add(b.getId());
+                    activeByEquipment.computeIfAbsent(b.getEquipmentId(), k -> new ArrayList<>())
+                            .add(new ReservationLedger.Reservation(b.getId(),
+                                    b.getStartDate().toEpochDay(), b.getEndDate().toEpochDay(), now));
+                });
+            }
+            reservationLedgerRepository.addMissing(activeByEquipment);
+
+            LocalDateTime cutoff = now.minusMinutes(PRUNE_GRACE_MINUTES);
+            Map<String, List<String>> endedByEquipment = new HashMap<>();
+            for (Booking ended : bookingRepository.findEndedSince(cutoff)) {
+                if (activeBookingIds.remove(ended.getId())) {
+                    endedByEquipment.computeIfAbsent(ended.getEquipmentId(), k -> new ArrayList<>()).add(ended.getId());
+                }
+            }
+            reservationLedgerRepository.removeAll(endedByEquipment);
+
+            Map<String, List<String>> staleByEquipment = new HashMap<>();
+            for (ReservationLedger ledger : reservationLedgerRepository.findAll()) {
+                for (ReservationLedger.Reservation r : ledger.getReservations()) {
+                    boolean settled = r.getClaimedAt() == null || r.getClaimedAt().isBefore(cutoff);
+                    if (settled && !activeBookingIds.contains(r.getBookingId())) {
+                        staleByEquipment.computeIfAbsent(ledger.getId(), k -> new ArrayList<>()).add(r.getBookingId());
+                    }
+                }
+            }
+            reservationLedgerRepository.removeAll(staleByEquipment);
+
+            log.info("Reservation ledgers reconciled: {} active booking(s), {} ledger(s) pruned",
+                    activeBookingIds.size(), staleByEquipment.size());
+        } catch (Exception e) {
+            log.error("Error during reservation ledger reconciliation", e);
+        }
+    }
+}
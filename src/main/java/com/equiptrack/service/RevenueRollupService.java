@@ -0,0 +1,227 @@
+package com.equiptrack.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Payment;
+import com.equiptrack.model.RevenueRollup;
+import com.equiptrack.repository.BookingRepository;
+import com.equiptrack.repository.EquipmentRepository;
+import com.equiptrack.repository.PaymentRepository;
+import com.equiptrack.repository.RevenueRollupRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revenue time series kept as daily, weekly and monthly buckets, overall and per location
+ * and category. Each completed or refunded payment updates its nine buckets with one bulk
+ * $inc. A date-range total reads only whole months, then whole weeks, then single days at
+ * the edges, so even multi-year ranges touch a few dozen small documents.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    /**
+     * Called when a payment reaches COMPLETED
+     */
+    public void recordPayment(Payment payment) {
+        LocalDateTime at = payment.getProcessedAt() != null ? payment.getProcessedAt() : LocalDateTime.now();
+        record(payment, at.toLocalDate(), toCents(payment.getAmount()), 0L, 1L);
+    }
+
+    /**
+     * Called when a completed payment is refunded
+     */
+    public void recordRefund(Payment payment) {
+        LocalDateTime at = payment.getRefundedAt() != null ? payment.getRefundedAt() : LocalDateTime.now();
+        record(payment, at.toLocalDate(), 0L, toCents(payment.getRefundedAmount()), 0L);
+    }
+
+    private void record(Payment payment, LocalDate date, long revenueCents, long refundCents, long paymentCount) {
+        try {
+            Equipment equipment = bookingRepository.findById(payment.getBookingId())
+                    .flatMap(booking -> equipmentRepository.findById(booking.getEquipmentId()))
+                    .orElse(null);
+            Map<String, RevenueRollup> deltas = new HashMap<>();
+            addToBuckets(deltas, date, equipment, revenueCents, refundCents, paymentCount);
+            revenueRollupRepository.increment(deltas.values());
+        } catch (Exception e) {
+            log.error("Error updating revenue rollups for payment {}", payment.getId(), e);
+        }
+    }
+
+    /**
+     * Net revenue (payments minus refunds) over the inclusive date range, overall or for one
+     * location or category
+     */
+    public RevenueSummary getRevenue(LocalDate from, LocalDate to, RevenueRollup.Dimension dimension, String dimensionId) {
+        String key = dimension == RevenueRollup.Dimension.ALL ? RevenueRollup.ALL : dimensionId;
+        List<String> ids = new ArrayList<>();
+        LocalDate day = from;
+        while (!day.isAfter(to)) {
+            RevenueRollup.Granularity granularity = RevenueRollup.Granularity.DAY;
+            LocalDate next = day.plusDays(1);
+            if (day.getDayOfMonth() == 1 && !day.plusMonths(1).minusDays(1).isAfter(to)) {
+                granularity = RevenueRollup.Granularity.MONTH;
+                next = day.plusMonths(1);
+            } else if (RevenueRollup.Granularity.WEEK.periodStart(day).equals(day) && !day.plusDays(6).isAfter(to)
+                    && day.plusDays(6).getMonth() == day.getMonth()) {
+                // Weeks stay within a month so the next month can still be read as one bucket
+                granularity = RevenueRollup.Granularity.WEEK;
+                next = day.plusWeeks(1);
+            }
+            ids.add(RevenueRollup.idFor(granularity, day, dimension, key));
+            day = next;
+        }
+
+        long revenue = 0;
+        long refunds = 0;
+        long payments = 0;
+        for (RevenueRollup rollup : revenueRollupRepository.findAllById(ids)) {
+            revenue += rollup.getRevenueCents();
+            refunds += rollup.getRefundCents();
+            payments += rollup.getPaymentCount();
+        }
+        return new RevenueSummary(from, to, dimension, key, PricingService.fromCents(revenue),
+                PricingService.fromCents(refunds), PricingService.fromCents(revenue - refunds), payments, ids.size());
+    }
+
+    /**
+     * Buckets of one granularity whose period starts within the range, oldest first
+     */
+    public List<RevenueRollup> getSeries(LocalDate from, LocalDate to, RevenueRollup.Granularity granularity,
+                                         RevenueRollup.Dimension dimension, String dimensionId) {
+        String key = dimension == RevenueRollup.Dimension.ALL ? RevenueRollup.ALL : dimensionId;
+        return revenueRollupRepository.findByGranularityAndDimensionAndDimensionIdAndPeriodStartBetweenOrderByPeriodStart(
+                granularity, dimension, key, granularity.periodStart(from).minusDays(1), to.plusDays(1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (revenueRollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes all buckets from the payments collection and writes them over the live
+     * buckets in place, so totals stay readable throughout. Buckets that received payments
+     * while the rebuild ran keep their live totals rather than being overwritten.
+     */
+    public synchronized int rebuild() {
+        log.info("Rebuilding revenue rollups from payments...");
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, RevenueRollup> buckets = new HashMap<>();
+        Map<String, Equipment> equipmentById = new HashMap<>();
+        try (Stream<Payment> payments = paymentRepository.streamRevenuePayments()) {
+            List<Payment> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            for (Payment payment : (Iterable<Payment>) payments::iterator) {
+                batch.add(payment);
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    addBatch(buckets, batch, equipmentById);
+                    batch.clear();
+                }
+            }
+            addBatch(buckets, batch, equipmentById);
+        }
+
+        int skipped = revenueRollupRepository.replaceAll(buckets.values(), startedAt);
+        log.info("Revenue rollups rebuilt: {} bucket(s), {} updated during the rebuild and kept", buckets.size(), skipped);
+        return buckets.size();
+    }
+
+    private void addBatch(Map<String, RevenueRollup> buckets, List<Payment> payments, Map<String, Equipment> equipmentById) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        Set<String> bookingIds = new HashSet<>();
+        payments.forEach(p -> bookingIds.add(p.getBookingId()));
+        Map<String, String> equipmentIdByBooking = new HashMap<>();
+        for (Booking booking : bookingRepository.findAllById(bookingIds)) {
+            equipmentIdByBooking.put(booking.getId(), booking.getEquipmentId());
+        }
+        Set<String> missingEquipment = new HashSet<>(equipmentIdByBooking.values());
+        missingEquipment.removeAll(equipmentById.keySet());
+        equipmentRepository.findAllById(missingEquipment).forEach(e -> equipmentById.put(e.getId(), e));
+
+        for (Payment payment : payments) {
+            Equipment equipment = equipmentById.get(equipmentIdByBooking.get(payment.getBookingId()));
+            LocalDateTime paidAt = payment.getProcessedAt() != null ? payment.getProcessedAt() : payment.getCreatedAt();
+            if (paidAt != null) {
+                addToBuckets(buckets, paidAt.toLocalDate(), equipment, toCents(payment.getAmount()), 0L, 1L);
+            }
+            if (payment.getStatus() == Payment.PaymentStatus.REFUNDED && payment.getRefundedAt() != null) {
+                addToBuckets(buckets, payment.getRefundedAt().toLocalDate(), equipment,
+                        0L, toCents(payment.getRefundedAmount()), 0L);
+            }
+        }
+    }
+
+    private static void addToBuckets(Map<String, RevenueRollup> buckets, LocalDate date, Equipment equipment,
+                                     long revenueCents, long refundCents, long paymentCount) {
+        for (RevenueRollup.Granularity granularity : RevenueRollup.Granularity.values()) {
+            add(buckets, RevenueRollup.bucket(granularity, date, RevenueRollup.Dimension.ALL, RevenueRollup.ALL),
+                    revenueCents, refundCents, paymentCount);
+            if (equipment != null && equipment.getLocationId() != null) {
+                add(buckets, RevenueRollup.bucket(granularity, date, RevenueRollup.Dimension.LOCATION, equipment.getLocationId()),
+                        revenueCents, refundCents, paymentCount);
+            }
+            if (equipment != null && equipment.getCategoryId() != null) {
+                add(buckets, RevenueRollup.bucket(granularity, date, RevenueRollup.Dimension.CATEGORY, equipment.getCategoryId()),
+                        revenueCents, refundCents, paymentCount);
+            }
+        }
+    }
+
+    private static void add(Map<String, RevenueRollup> buckets, RevenueRollup delta,
+                            long revenueCents, long refundCents, long paymentCount) {
+        RevenueRollup bucket = buckets.computeIfAbsent(delta.getId(), id -> delta);
+        bucket.setRevenueCents(bucket.getRevenueCents() + revenueCents);
+        bucket.setRefundCents(bucket.getRefundCents() + refundCents);
+        bucket.setPaymentCount(bucket.getPaymentCount() + paymentCount);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? PricingService.toCents(amount) : 0L;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RevenueSummary {
+        private LocalDate from;
+        private LocalDate to;
+        private RevenueRollup.Dimension dimension;
+        private String dimensionId;
+        private BigDecimal revenue;
+        private BigDecimal refunds;
+        private BigDecimal netRevenue;
+        private long paymentCount;
+        private int bucketsRead;
+    }
+}
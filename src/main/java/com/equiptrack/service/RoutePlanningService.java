@@ -0,0 +1,159 @@
+package com.equiptrack.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.model.Booking;
+import com.equiptrack.model.Equipment;
+import com.equiptrack.model.Location;
+import com.equiptrack.model.RoutePlan;
+import com.equiptrack.repository.BookingRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plans each day's delivery truck routes. The day's deliveries (bookings starting that day)
+ * and pickups (bookings ending that day) with requiresDelivery are grouped by the location
+ * of their equipment, and every location's stops are ordered by {@link RouteSolver} in
+ * parallel. Plans for today and tomorrow are computed early each morning and kept in
+ * memory; other days are planned on request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoutePlanningService {
+
+    private final BookingRepository bookingRepository;
+    private final EquipmentCache equipmentCache;
+    private final ReferenceDataService referenceDataService;
+
+    private final Map<LocalDate, RoutePlan> plans = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${app.routes.plan-cron:0 30 5 * * *}")
+    public void planUpcomingDays() {
+        LocalDate today = LocalDate.now();
+        plans.keySet().removeIf(date -> date.isBefore(today));
+        plan(today);
+        plan(today.plusDays(1));
+    }
+
+    /**
+     * The stored plan for the day, planning it first if there is none
+     */
+    public RoutePlan getPlan(LocalDate date) {
+        RoutePlan plan = plans.get(date);
+        return plan != null ? plan : plan(date);
+    }
+
+    /**
+     * Plans the day from the current bookings and stores the result
+     */
+    public RoutePlan plan(LocalDate date) {
+        long started = System.currentTimeMillis();
+        List<Booking> deliveries = bookingRepository.findDeliveriesStartingOn(date);
+        List<Booking> pickups = bookingRepository.findPickupsEndingOn(date);
+
+        Set<String> equipmentIds = new HashSet<>();
+        deliveries.forEach(b -> equipmentIds.add(b.getEquipmentId()));
+        pickups.forEach(b -> equipmentIds.add(b.getEquipmentId()));
+        Map<String, Equipment> equipmentById = new HashMap<>();
+        equipmentCache.getAll(equipmentIds).forEach(e -> equipmentById.put(e.getId(), e));
+
+        RoutePlan plan = new RoutePlan();
+        plan.setDate(date);
+        Map<String, List<RoutePlan.Stop>> stopsByLocation = new LinkedHashMap<>();
+        addStops(deliveries, RoutePlan.StopType.DELIVERY, equipmentById, stopsByLocation, plan.getUnroutable());
+        addStops(pickups, RoutePlan.StopType.PICKUP, equipmentById, stopsByLocation, plan.getUnroutable());
+
+        Map<String, Location> locationsById = referenceDataService.getSnapshot().getLocationsById();
+        List<Map.Entry<Location, List<RoutePlan.Stop>>> groups = new ArrayList<>();
+        for (Map.Entry<String, List<RoutePlan.Stop>> entry : stopsByLocation.entrySet()) {
+            Location location = locationsById.get(entry.getKey());
+            if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+                for (RoutePlan.Stop stop : entry.getValue()) {
+                    stop.setNote("Origin location has no coordinates");
+                    plan.getUnroutable().add(stop);
+                }
+            } else {
+                groups.add(Map.entry(location, entry.getValue()));
+            }
+        }
+
+        // Locations are independent, so each one's route is solved on its own worker
+        List<RoutePlan.Route> routes = groups.parallelStream()
+                .map(group -> route(group.getKey(), group.getValue()))
+                .toList();
+
+        plan.setRoutes(new ArrayList<>(routes));
+        for (RoutePlan.Route route : routes) {
+            plan.setStopCount(plan.getStopCount() + route.getStops().size());
+            plan.setTotalDistanceKm(plan.getTotalDistanceKm() + route.getDistanceKm());
+        }
+        plan.setTotalDistanceKm(round(plan.getTotalDistanceKm()));
+        plan.setPlannedAt(LocalDateTime.now());
+        plan.setSolveMillis(System.currentTimeMillis() - started);
+        plans.put(date, plan);
+        log.info("Planned {} route(s) with {} stop(s) for {} in {} ms ({} unroutable)",
+                routes.size(), plan.getStopCount(), date, plan.getSolveMillis(), plan.getUnroutable().size());
+        return plan;
+    }
+
+    private static void addStops(List<Booking> bookings, RoutePlan.StopType type, Map<String, Equipment> equipmentById,
+                                 Map<String, List<RoutePlan.Stop>> stopsByLocation, List<RoutePlan.Stop> unroutable) {
+        for (Booking booking : bookings) {
+            Equipment equipment = equipmentById.get(booking.getEquipmentId());
+            RoutePlan.Stop stop = new RoutePlan.Stop(0, type, booking.getId(), booking.getBookingNumber(),
+                    booking.getEquipmentId(), equipment != null ? equipment.getName() : null, booking.getDeliveryAddress(),
+                    booking.getDeliveryLatitude(), booking.getDeliveryLongitude(), 0.0, null);
+            if (equipment == null || equipment.getLocationId() == null) {
+                stop.setNote("Equipment has no location");
+                unroutable.add(stop);
+            } else if (booking.getDeliveryLatitude() == null || booking.getDeliveryLongitude() == null) {
+                stop.setNote("Delivery address has no coordinates");
+                unroutable.add(stop);
+            } else {
+                stopsByLocation.computeIfAbsent(equipment.getLocationId(), id -> new ArrayList<>()).add(stop);
+            }
+        }
+    }
+
+    private static RoutePlan.Route route(Location location, List<RoutePlan.Stop> stops) {
+        double[] latitudes = new double[stops.size()];
+        double[] longitudes = new double[stops.size()];
+        for (int i = 0; i < stops.size(); i++) {
+            latitudes[i] = stops.get(i).getLatitude();
+            longitudes[i] = stops.get(i).getLongitude();
+        }
+        RouteSolver solver = new RouteSolver(location.getLatitude(), location.getLongitude(), latitudes, longitudes);
+        RouteSolver.Solution solution = solver.solve();
+
+        List<RoutePlan.Stop> ordered = new ArrayList<>(stops.size());
+        int previous = -1;
+        for (int index : solution.order) {
+            RoutePlan.Stop stop = stops.get(index);
+            stop.setSequence(ordered.size() + 1);
+            // Solver nodes are offset by one: node 0 is the location itself
+            stop.setLegDistanceKm(round(solver.distance(previous + 1, index + 1)));
+            ordered.add(stop);
+            previous = index;
+        }
+        return new RoutePlan.Route(location.getId(), location.getName(), location.getLatitude(), location.getLongitude(),
+                ordered, round(solution.km), round(solution.initialKm));
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 100) / 100.0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.equiptrack.service;
+
+import java.util.Arrays;
+
+/**
+ * Heuristic solver for a single-vehicle loop from a depot through every stop and back.
+ * Builds a nearest-neighbour tour, then improves it with 2-opt moves restricted to each
+ * stop's closest neighbours, which keeps a pass near-linear and solves a thousand stops
+ * in well under a second. Distances are great-circle km between unit-sphere points.
+ */
+final class RouteSolver {
+
+    private static final int NEIGHBOURS = 12;
+    private static final int MAX_PASSES = 50;
+    private static final double MIN_GAIN_KM = 1e-7;
+
+    /**
+     * Node 0 is the depot, node i + 1 is stop i
+     */
+    private final double[][] points;
+
+    RouteSolver(double depotLatitude, double depotLongitude, double[] latitudes, double[] longitudes) {
+        points = new double[latitudes.length + 1][];
+        points[0] = LocationKdTree.toUnitVector(depotLatitude, depotLongitude);
+        for (int i = 0; i < latitudes.length; i++) {
+            points[i + 1] = LocationKdTree.toUnitVector(latitudes[i], longitudes[i]);
+        }
+    }
+
+    Solution solve() {
+        int[] tour = nearestNeighbourTour();
+        double initialKm = length(tour);
+        if (tour.length > 3) {
+            twoOpt(tour);
+        }
+
+        // Rotate so the loop starts at the depot
+        int depotAt = 0;
+        while (tour[depotAt] != 0) {
+            depotAt++;
+        }
+        int[] order = new int[tour.length - 1];
+        for (int i = 1; i < tour.length; i++) {
+            order[i - 1] = tour[(depotAt + i) % tour.length] - 1;
+        }
+        return new Solution(order, initialKm, length(tour));
+    }
+
+    /**
+     * Great-circle km between two nodes (0 = depot, i + 1 = stop i)
+     */
+    double distance(int a, int b) {
+        return LocationKdTree.chordToKm(Math.sqrt(LocationKdTree.squaredDistance(points[a], points[b])));
+    }
+
+    private int[] nearestNeighbourTour() {
+        int n = points.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        int current = 0;
+        for (int i = 1; i < n; i++) {
+            int best = -1;
+            double bestChord = Double.MAX_VALUE;
+            for (int candidate = 1; candidate < n; candidate++) {
+                if (!visited[candidate]) {
+                    double chord = LocationKdTree.squaredDistance(points[current], points[candidate]);
+                    if (chord < bestChord) {
+                        bestChord = chord;
+                        best = candidate;
+                    }
+                }
+            }
+            tour[i] = best;
+            visited[best] = true;
+            current = best;
+        }
+        return tour;
+    }
+
+    /**
+     * Repeatedly replaces edges (a, succ a) and (c, succ c) with (a, c) and (succ a, succ c)
+     * when that shortens the loop, trying only the closest neighbours of a as c, until a
+     * full pass finds nothing or the pass limit is reached
+     */
+    private void twoOpt(int[] tour) {
+        int n = tour.length;
+        int[][] neighbours = neighbourLists();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[tour[i]] = i;
+        }
+
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_PASSES; pass++) {
+            improved = false;
+            for (int i = 0; i < n; i++) {
+                int a = tour[i];
+                int b = tour[(i + 1) % n];
+                double ab = distance(a, b);
+                for (int c : neighbours[a]) {
+                    double ac = distance(a, c);
+                    if (ac >= ab) {
+                        // Neighbours are sorted, so no later candidate can shorten this edge
+                        break;
+                    }
+                    int j = position[c];
+                    int d = tour[(j + 1) % n];
+                    if (c == b || d == a) {
+                        continue;
+                    }
+                    double gain = ab + distance(c, d) - ac - distance(b, d);
+                    if (gain > MIN_GAIN_KM) {
+                        reverse(tour, position, Math.min(i, j) + 1, Math.max(i, j));
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int[] position, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from] = tour[to];
+            tour[to] = swap;
+            position[tour[from]] = from;
+            position[tour[to]] = to;
+            from++;
+            to--;
+        }
+    }
+
+    /**
+     * The closest nodes to each node, nearest first
+     */
+    private int[][] neighbourLists() {
+        int n = points.length;
+        int k = Math.min(NEIGHBOURS, n - 1);
+        int[][] neighbours = new int[n][];
+        int[] nearest = new int[k];
+        double[] nearestChord = new double[k];
+        for (int a = 0; a < n; a++) {
+            int found = 0;
+            for (int c = 0; c < n; c++) {
+                if (c == a) {
+                    continue;
+                }
+                double chord = LocationKdTree.squaredDistance(points[a], points[c]);
+                if (found == k && chord >= nearestChord[k - 1]) {
+                    continue;
+                }
+                // Insertion into the sorted top-k
+                int slot = found < k ? found++ : k - 1;
+                while (slot > 0 && nearestChord[slot - 1] > chord) {
+                    nearest[slot] = nearest[slot - 1];
+                    nearestChord[slot] = nearestChord[slot - 1];
+                    slot--;
+                }
+                nearest[slot] = c;
+                nearestChord[slot] = chord;
+            }
+            neighbours[a] = Arrays.copyOf(nearest, found);
+        }
+        return neighbours;
+    }
+
+    private double length(int[] tour) {
+        double km = 0;
+        for (int i = 0; i < tour.length; i++) {
+            km += distance(tour[i], tour[(i + 1) % tour.length]);
+        }
+        return km;
+    }
+
+    static final class Solution {
+        /**
+         * Stop indexes in visiting order
+         */
+        final int[] order;
+        final double initialKm;
+        final double km;
+
+        private Solution(int[] order, double initialKm, double km) {
+            this.order = order;
+            this.initialKm = initialKm;
+            this.km = km;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.equiptrack.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.equiptrack.repository.CounterRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out unique, increasing numbers for named sequences (booking numbers, equipment
+ * codes, transaction IDs). Blocks of values are leased from a MongoDB counters document
+ * (hi/lo), so values stay unique across application nodes, and are then handed out in-process
+ * with a lock-free increment. Unused values of a block are lost on restart, leaving gaps.
+ */
+@Service
+@Slf4j
+public class SequenceService {
+
+    private final CounterRepository counterRepository;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceService(CounterRepository counterRepository,
+                           @Value("${app.sequence.block-size:50}") int blockSize) {
+        this.counterRepository = counterRepository;
+        this.blockSize = blockSize;
+    }
+
+    public long next(String name) {
+        while (true) {
+            Block block = blocks.get(name);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    return value;
+                }
+            }
+            refill(name, block);
+        }
+    }
+
+    /**
+     * Makes sure values handed out for the sequence are above {@code floor}, e.g. at startup
+     * to skip past values assigned by older code, or after values were assigned explicitly.
+     * Blocks already leased by other nodes are not affected.
+     */
+    public void ensureAtLeast(String name, long floor) {
+        counterRepository.ensureAtLeast(name, floor);
+        blocks.remove(name);
+    }
+
+    private synchronized void refill(String name, Block exhausted) {
+        if (blocks.get(name) != exhausted) {
+            // Another thread already leased a fresh block
+            return;
+        }
+        long last = counterRepository.reserveBlock(name, blockSize);
+        blocks.put(name, new Block(last - blockSize + 1, last));
+        log.debug("Leased sequence block {}: {} - {}", name, last - blockSize + 1, last);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
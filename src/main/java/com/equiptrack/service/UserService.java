@@ -1,15 +1,19 @@
 package com.equiptrack.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.equiptrack.model.KeysetPage;
 import com.equiptrack.model.User;
+import com.equiptrack.repository.KeysetPager;
 import com.equiptrack.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -27,17 +31,34 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final KeysetPager keysetPager;
 
+    /**
+     * Every user in one list, for the admin dashboard only; API callers page with {@link #getUsers}
+     */
     public List<User> getAllUsers() {
         log.info("Fetching all users");
         return userRepository.findAll();
     }
 
+    /**
+     * All users, newest first, one keyset page at a time
+     */
+    public KeysetPage<User> getUsers(String cursor, Integer size) {
+        log.info("Fetching users page after cursor: {}", cursor);
+        return keysetPager.page(User.class, new Criteria(), cursor, size, User::getCreatedAt, User::getId);
+    }
+
     public Optional<User> getUserById(String id) {
         log.info("Fetching user with ID: {}", id);
         return userRepository.findById(id);
     }
 
+    public List<User> getUsersByIds(Collection<String> ids) {
+        log.info("Fetching {} user(s) by ID", ids.size());
+        return userRepository.findAllById(ids);
+    }
+
     public Optional<User> getUserByEmail(String email) {
         log.info("Fetching user with email: {}", email);
         return userRepository.findByEmail(email);
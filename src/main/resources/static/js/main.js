@@ -64,8 +64,8 @@ async function loadEquipment(filters = {}) {
 
 async function searchEquipment(keyword) {
     try {
-        const equipment = await fetchAPI(`/api/equipment/search?keyword=${encodeURIComponent(keyword)}`);
-        return equipment;
+        const results = await fetchAPI(`/api/equipment/search?keyword=${encodeURIComponent(keyword)}`);
+        return results.content;
     } catch (error) {
         console.error('Error searching equipment:', error);
         return [];
@@ -88,8 +88,8 @@ async function createBooking(bookingData) {
 
 async function loadUserBookings(userId) {
     try {
-        const bookings = await fetchAPI(`/api/bookings/customer/${userId}`);
-        return bookings;
+        const page = await fetchAPI(`/api/bookings/customer/${userId}`);
+        return page.content;
     } catch (error) {
         console.error('Error loading bookings:', error);
         return [];
@@ -0,0 +1,104 @@
+package com.equiptrack.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class EquipmentImportServiceCsvRowsTest {
+
+    @Test
+    void quotedCommasAndDoubledQuotes() throws IOException {
+        List<EquipmentImportService.Row> rows = read(
+                "equipmentCode,name,description\n"
+                + "EQ001,\"Drill, cordless\",\"18V \"\"brushless\"\" motor\"\n"
+                + "EQ002,Saw,\"\"\n");
+
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 2, Map.of("equipmentCode", "EQ001", "name", "Drill, cordless",
+                "description", "18V \"brushless\" motor"));
+        assertRow(rows.get(1), 3, Map.of("equipmentCode", "EQ002", "name", "Saw", "description", ""));
+    }
+
+    @Test
+    void lineBreaksInQuotedFieldsKeepLineNumbers() throws IOException {
+        List<EquipmentImportService.Row> rows = read(
+                "equipmentCode,name,description\r\n"
+                + "EQ001,Drill,\"first line\r\nsecond, line\r\nthird \"\"line\"\"\"\r\n"
+                + "EQ002,Saw,one line\r\n"
+                + "\r\n"
+                + "EQ003,\"Ladder\n\",\"\n\"\r\n"
+                + "EQ004,Jack,plain\r\n");
+
+        assertEquals(4, rows.size());
+        assertRow(rows.get(0), 2, Map.of("equipmentCode", "EQ001", "name", "Drill",
+                "description", "first line\nsecond, line\nthird \"line\""));
+        assertRow(rows.get(1), 5, Map.of("equipmentCode", "EQ002", "name", "Saw", "description", "one line"));
+        assertRow(rows.get(2), 7, Map.of("equipmentCode", "EQ003", "name", "Ladder\n", "description", "\n"));
+        assertRow(rows.get(3), 10, Map.of("equipmentCode", "EQ004", "name", "Jack", "description", "plain"));
+    }
+
+    @Test
+    void headerWithByteOrderMarkAndSpecificationColumns() throws IOException {
+        List<EquipmentImportService.Row> rows = read(
+                "\uFEFF equipmentCode , name ,spec.power,spec.weight\n"
+                + "EQ001,Drill,\"750 W, corded\",\n");
+
+        assertEquals(1, rows.size());
+        assertRow(rows.get(0), 2, Map.of("equipmentCode", "EQ001", "name", "Drill"));
+        assertEquals(Map.of("power", "750 W, corded"), rows.get(0).specifications);
+    }
+
+    @Test
+    void wrongColumnCountIsAnErrorRow() throws IOException {
+        List<EquipmentImportService.Row> rows = read(
+                "equipmentCode,name\n"
+                + "EQ001,\"Drill,\nbit\",extra\n"
+                + "EQ002,Saw\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).line);
+        assertEquals("Expected 2 columns but found 3", rows.get(0).error);
+        assertTrue(rows.get(0).fields.isEmpty());
+        assertRow(rows.get(1), 4, Map.of("equipmentCode", "EQ002", "name", "Saw"));
+    }
+
+    @Test
+    void unterminatedQuoteEndsAtEndOfInput() throws IOException {
+        List<EquipmentImportService.Row> rows = read(
+                "equipmentCode,name\n"
+                + "EQ001,\"Drill\n"
+                + "EQ002,Saw\n");
+
+        assertEquals(1, rows.size());
+        assertRow(rows.get(0), 2, Map.of("equipmentCode", "EQ001", "name", "Drill\nEQ002,Saw"));
+    }
+
+    @Test
+    void emptyInputAndHeaderOnly() throws IOException {
+        assertFalse(new EquipmentImportService.CsvRows(new BufferedReader(new StringReader(""))).hasNext());
+        assertTrue(read("equipmentCode,name\n\n").isEmpty());
+    }
+
+    private static List<EquipmentImportService.Row> read(String csv) throws IOException {
+        EquipmentImportService.CsvRows csvRows = new EquipmentImportService.CsvRows(new BufferedReader(new StringReader(csv)));
+        List<EquipmentImportService.Row> rows = new ArrayList<>();
+        csvRows.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static void assertRow(EquipmentImportService.Row row, long line, Map<String, String> fields) {
+        assertNull(row.error);
+        assertEquals(line, row.line);
+        assertEquals(fields, row.fields);
+    }
+}
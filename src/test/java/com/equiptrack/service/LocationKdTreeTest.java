@@ -0,0 +1,131 @@
+package com.equiptrack.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.equiptrack.model.Location;
+
+class LocationKdTreeTest {
+
+    /**
+     * Locations this close to the radius may fall either side of it through rounding
+     */
+    private static final double EPSILON_KM = 1e-6;
+
+    @Test
+    void withinMatchesBruteForce() {
+        Random random = new Random(42);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            locations.add(location("L" + i, -90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360));
+        }
+        LocationKdTree tree = new LocationKdTree(locations);
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = -90 + random.nextDouble() * 180;
+            double longitude = -180 + random.nextDouble() * 360;
+            double radiusKm = random.nextDouble() * 3000;
+            assertMatchesBruteForce(tree, locations, latitude, longitude, radiusKm);
+        }
+    }
+
+    @Test
+    void withinCrossesTheAntimeridian() {
+        Random random = new Random(7);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double offset = random.nextDouble() * 5;
+            locations.add(location("L" + i, -20 + random.nextDouble() * 10, i % 2 == 0 ? 180 - offset : -180 + offset));
+        }
+        locations.add(location("east", -17, 179.9));
+        locations.add(location("west", -17, -179.9));
+        LocationKdTree tree = new LocationKdTree(locations);
+
+        List<LocationKdTree.Hit> hits = tree.within(-17, 179.95, 50);
+        Set<String> ids = ids(hits);
+        assertTrue(ids.contains("east"), "east of the antimeridian not found");
+        assertTrue(ids.contains("west"), "west of the antimeridian not found");
+
+        for (double longitude : new double[] {180, -180, 179.99, -179.99, 178, -178}) {
+            for (double radiusKm : new double[] {10, 100, 500, 2000}) {
+                assertMatchesBruteForce(tree, locations, -15, longitude, radiusKm);
+            }
+        }
+    }
+
+    @Test
+    void withinNearThePoles() {
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 360; i += 10) {
+            locations.add(location("N" + i, 89.5, i - 180));
+            locations.add(location("S" + i, -89.5, i - 180));
+        }
+        LocationKdTree tree = new LocationKdTree(locations);
+
+        assertEquals(36, tree.within(90, 0, 60).size());
+        assertMatchesBruteForce(tree, locations, 89.9, 45, 30);
+        assertMatchesBruteForce(tree, locations, -89, -120, 100);
+    }
+
+    @Test
+    void locationsWithoutCoordinatesAreSkipped() {
+        Location unplaced = new Location();
+        unplaced.setId("unplaced");
+        LocationKdTree tree = new LocationKdTree(List.of(unplaced, location("placed", 19.07, 72.87)));
+
+        assertEquals(1, tree.size());
+        assertEquals(Set.of("placed"), ids(tree.within(19.07, 72.87, 20_000)));
+        assertTrue(new LocationKdTree(List.of()).within(0, 0, 20_000).isEmpty());
+    }
+
+    private static void assertMatchesBruteForce(LocationKdTree tree, List<Location> locations,
+                                                double latitude, double longitude, double radiusKm) {
+        List<LocationKdTree.Hit> hits = tree.within(latitude, longitude, radiusKm);
+        Set<String> found = ids(hits);
+        assertEquals(hits.size(), found.size(), "duplicate hits");
+
+        for (Location location : locations) {
+            double km = LocationKdTree.distanceKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if (km < radiusKm - EPSILON_KM) {
+                assertTrue(found.contains(location.getId()),
+                        location.getId() + " at " + km + " km missing from a " + radiusKm + " km query");
+            } else if (km > radiusKm + EPSILON_KM) {
+                assertTrue(!found.contains(location.getId()),
+                        location.getId() + " at " + km + " km returned by a " + radiusKm + " km query");
+            }
+        }
+
+        double previousKm = 0;
+        for (LocationKdTree.Hit hit : hits) {
+            Location location = hit.getLocation();
+            assertEquals(LocationKdTree.distanceKm(latitude, longitude, location.getLatitude(), location.getLongitude()),
+                    hit.getDistanceKm(), EPSILON_KM);
+            assertTrue(hit.getDistanceKm() >= previousKm, "hits not sorted by distance");
+            previousKm = hit.getDistanceKm();
+        }
+    }
+
+    private static Set<String> ids(List<LocationKdTree.Hit> hits) {
+        Set<String> ids = new HashSet<>();
+        for (LocationKdTree.Hit hit : hits) {
+            ids.add(hit.getLocation().getId());
+        }
+        return ids;
+    }
+
+    private static Location location(String id, double latitude, double longitude) {
+        Location location = new Location();
+        location.setId(id);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+}
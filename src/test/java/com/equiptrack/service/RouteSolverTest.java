@@ -0,0 +1,99 @@
+package com.equiptrack.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RouteSolverTest {
+
+    private static final double EPSILON_KM = 1e-6;
+
+    @Test
+    void tourIsAPermutationNoLongerThanNearestNeighbour() {
+        Random random = new Random(42);
+        for (int stops : new int[] {0, 1, 2, 3, 4, 5, 20, 200, 1000}) {
+            double[] latitudes = new double[stops];
+            double[] longitudes = new double[stops];
+            for (int i = 0; i < stops; i++) {
+                latitudes[i] = 18.9 + random.nextDouble() * 0.5;
+                longitudes[i] = 72.7 + random.nextDouble() * 0.5;
+            }
+            assertSolution(new RouteSolver(19.1, 72.9, latitudes, longitudes), stops);
+        }
+    }
+
+    @Test
+    void stopsAcrossTheAntimeridian() {
+        Random random = new Random(7);
+        int stops = 100;
+        double[] latitudes = new double[stops];
+        double[] longitudes = new double[stops];
+        for (int i = 0; i < stops; i++) {
+            latitudes[i] = -17 + random.nextDouble() * 2;
+            double offset = random.nextDouble() * 2;
+            longitudes[i] = i % 2 == 0 ? 180 - offset : -180 + offset;
+        }
+        assertSolution(new RouteSolver(-16, 179.5, latitudes, longitudes), stops);
+    }
+
+    @Test
+    void duplicateStops() {
+        double[] latitudes = {19.0, 19.0, 19.0, 19.1, 19.1, 19.0};
+        double[] longitudes = {72.8, 72.8, 72.8, 72.9, 72.9, 72.8};
+        assertSolution(new RouteSolver(19.05, 72.85, latitudes, longitudes), latitudes.length);
+    }
+
+    private static void assertSolution(RouteSolver solver, int stops) {
+        RouteSolver.Solution solution = solver.solve();
+
+        assertEquals(stops, solution.order.length);
+        boolean[] seen = new boolean[stops];
+        for (int stop : solution.order) {
+            assertTrue(stop >= 0 && stop < stops, "stop " + stop + " out of range");
+            assertTrue(!seen[stop], "stop " + stop + " visited twice");
+            seen[stop] = true;
+        }
+
+        assertEquals(nearestNeighbourKm(solver, stops), solution.initialKm, EPSILON_KM);
+        assertEquals(loopKm(solver, solution.order), solution.km, EPSILON_KM);
+        assertTrue(solution.km <= solution.initialKm + EPSILON_KM,
+                stops + " stops: " + solution.km + " km is longer than the nearest-neighbour " + solution.initialKm + " km");
+    }
+
+    /**
+     * Depot, each stop in order, back to the depot
+     */
+    private static double loopKm(RouteSolver solver, int[] order) {
+        double km = 0;
+        int previous = 0;
+        for (int stop : order) {
+            km += solver.distance(previous, stop + 1);
+            previous = stop + 1;
+        }
+        return km + solver.distance(previous, 0);
+    }
+
+    /**
+     * Length of the loop that always visits the closest unvisited stop next
+     */
+    private static double nearestNeighbourKm(RouteSolver solver, int stops) {
+        boolean[] visited = new boolean[stops + 1];
+        double km = 0;
+        int current = 0;
+        for (int step = 0; step < stops; step++) {
+            int best = -1;
+            for (int candidate = 1; candidate <= stops; candidate++) {
+                if (!visited[candidate] && (best < 0 || solver.distance(current, candidate) < solver.distance(current, best))) {
+                    best = candidate;
+                }
+            }
+            visited[best] = true;
+            km += solver.distance(current, best);
+            current = best;
+        }
+        return km + solver.distance(current, 0);
+    }
+}